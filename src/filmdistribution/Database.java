@@ -31,17 +31,63 @@
 
 package filmdistribution;
 
+import filmdistribution.film.AvailabilityListener;
 import filmdistribution.film.DistributionMovie;
+import filmdistribution.film.Movie;
+import filmdistribution.index.AvailabilityIndex;
+import filmdistribution.index.DenseIdIndex;
+import filmdistribution.index.FskIndex;
+import filmdistribution.index.GenreIndex;
+import filmdistribution.index.IdIndex;
+import filmdistribution.index.IntHashIndex;
+import filmdistribution.index.NameIndex;
+import filmdistribution.index.TitleCatalogue;
+import filmdistribution.io.ChannelLineReader;
+import filmdistribution.io.ChannelTextWriter;
+import filmdistribution.io.ExportStatistics;
+import filmdistribution.io.LineHandler;
+import filmdistribution.io.LineReader;
+import filmdistribution.io.MappedLineReader;
+import filmdistribution.io.MovieLineParser;
+import filmdistribution.io.ParallelLineLoader;
+import filmdistribution.io.UserLineParser;
+import filmdistribution.io.UserRecord;
+import filmdistribution.journal.JournalHandler;
+import filmdistribution.journal.RentalJournal;
+import filmdistribution.query.MovieQuery;
+import filmdistribution.query.QueryExecutor;
+import filmdistribution.query.QuerySource;
+import filmdistribution.rental.AsyncRejectionLog;
+import filmdistribution.rental.RentalMode;
+import filmdistribution.rental.RentalStatistics;
+import filmdistribution.rental.RentalStatus;
+import filmdistribution.snapshot.Snapshot;
+import filmdistribution.snapshot.SnapshotReader;
+import filmdistribution.snapshot.SnapshotWriter;
+import filmdistribution.table.ColumnarMovieTable;
+import filmdistribution.table.MovieTable;
+import filmdistribution.util.Appendables;
+import filmdistribution.util.IntHashSet;
+import filmdistribution.util.StringPool;
 import filmdistribution.person.Human;
+import filmdistribution.person.PersonRegistry;
 import filmdistribution.person.Premiumuser;
 import filmdistribution.person.Standarduser;
 import filmdistribution.person.User;
 
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * This class represents the database handling all the user an movie data and providing some functionality so that
@@ -49,6 +95,9 @@ import java.util.Scanner;
  *
  * The remove methods are not implemented.
  *
+ * Renting movies is thread safe and can be done from many threads at the same time, the movies and users have to be
+ * inserted before.
+ *
  * @author Sascha Lutzenberger
  * @version 1.0 - 26 Januar 2018
  */
@@ -57,13 +106,80 @@ public class Database {
     private final ArrayList<DistributionMovie> movies;
     private final ArrayList<User> users;
 
+    //primary key indexes of users and distribution movies
+    private final IdIndex<DistributionMovie> movieIndex;
+    private final IdIndex<User> userIndex;
+    //the titles of the copies, the name and genre indexes use the title ids
+    private final TitleCatalogue titles;
+    //the shared directors, actors and genres of the titles
+    private final PersonRegistry people;
+    private final StringPool genres;
+    //secondary indexes for the searches
+    private final NameIndex nameIndex;
+    private final GenreIndex genreIndex;
+    private final FskIndex fskIndex;
+    private final AvailabilityIndex availabilityIndex;
+    //the columns of the copies for scans
+    private final MovieTable movieTable;
+    //keeps the availability in the indexes up to date
+    private final AvailabilityListener availabilityListener;
+    //the results of the rentals and the optional log of the rejected rentals
+    private final RentalStatistics rentalStatistics;
+    private volatile AsyncRejectionLog rejectionLog;
+    //executes the scans and lookups of the searches, sequentially or in parallel
+    private volatile QueryExecutor queryExecutor;
+    //gives the queries access to the indexes
+    private final QuerySource querySource;
+    //the journal of the rentals, null if there is none
+    private volatile RentalJournal journal;
+    //the sequence number of the last journal record in the loaded snapshot
+    private long journalSequence;
+
     /**
      * Constructs a new empty database.
+     *
+     * The IDs are handed out sequentially, so the dense array indexes are used for the lookup.
      */
     public Database() {
+        this(true);
+    }
+
+    /**
+     * Constructs a new empty database.
+     *
+     * @param denseIds - true if the IDs are (nearly) sequential and an array index should be used, false if the IDs
+     *                 are sparse and a hash index should be used
+     */
+    public Database(boolean denseIds) {
         //Assign instance variables.
         this.movies = new ArrayList<>();
         this.users = new ArrayList<>();
+
+        if(denseIds) {
+            this.movieIndex = new DenseIdIndex<>();
+            this.userIndex = new DenseIdIndex<>();
+        } else {
+            this.movieIndex = new IntHashIndex<>();
+            this.userIndex = new IntHashIndex<>();
+        }
+
+        this.titles = new TitleCatalogue();
+        this.people = new PersonRegistry();
+        this.genres = new StringPool();
+        this.nameIndex = new NameIndex();
+        this.genreIndex = new GenreIndex();
+        this.fskIndex = new FskIndex();
+        this.availabilityIndex = new AvailabilityIndex();
+        this.movieTable = new ColumnarMovieTable();
+        this.queryExecutor = new QueryExecutor();
+        this.rentalStatistics = new RentalStatistics();
+        this.availabilityListener = new AvailabilityListener() {
+            @Override
+            public void availabilityChanged(DistributionMovie movie) {
+                updateAvailability(movie);
+            }
+        };
+        this.querySource = createQuerySource();
     }
 
     public ArrayList<DistributionMovie> getMovies() {
@@ -76,43 +192,42 @@ public class Database {
 
     public void insertMovie(DistributionMovie film) {
         movies.add(film);
-    }
-
-    public void readInMovie(String movieFile) {
-        try {
-            Scanner scanner = new Scanner(new File(movieFile));
-
-            while(scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] information = line.split(";");
+        movieIndex.put(film.getId(), film);
+        //the name and the genres are only indexed for the first copy of a title
+        int titleId = titles.getTitleId(film.getMovie());
 
-                String title = information[0].trim();
-                int year = Integer.parseInt(information[1].trim());
-                String genre = information[2].trim();
-                int fsk = Integer.parseInt(information[3].trim());
+        if(titleId < 0) {
+            titleId = titles.addTitle(film.getMovie());
+            nameIndex.add(titleId, people.getPersonId(film.getDirector()), film.getDirector());
 
-                String d[] = information[4].trim().split(" ");
-                Human director = new Human(d[0].trim(), d[1].trim());
+            for(Human actor : film.getActors()) {
+                nameIndex.add(titleId, people.getPersonId(actor), actor);
+            }
 
-                String actorInformation[] = information[5].trim().split(",");
-                String[] actor1 = actorInformation[0].trim().split(" ");
-                String[] actor2 = actorInformation[1].trim().split(" ");
-                String[] actor3 = actorInformation[2].trim().split(" ");
+            genreIndex.add(titleId, film.getGenre());
+        }
 
-                Human[] actors = new Human[3];
-                actors[0] = new Human(actor1[0], actor1[1]);
-                actors[1] = new Human(actor2[0], actor2[1]);
-                actors[2] = new Human(actor3[0], actor3[1]);
+        titles.addCopy(titleId, film.getId());
+        fskIndex.add(film.getId(), film.getFsk(), film.isMovieAvailable());
+        movieTable.add(film.getId(), film.getPublishingYear());
 
-                DistributionMovie distributionMovie = new DistributionMovie(title, year, genre, fsk, director, actors);
+        //from now on every change of the availability updates the indexes
+        film.setAvailabilityListener(availabilityListener);
+        updateAvailability(film);
+    }
 
-                insertMovie(distributionMovie);
-            }
+    public void readInMovie(String movieFile) {
+        readInMovie(movieFile, false);
+    }
 
-            scanner.close();
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Reads the movie file like {@link #readInMovie(String)}, but the file is mapped into memory and parsed directly
+     * from the mapped buffer. Should be used for very large files.
+     *
+     * @param movieFile - the file with the movies
+     */
+    public void readInMovieMapped(String movieFile) {
+        readInMovie(movieFile, true);
     }
 
     public void insertUser(String firstname, String lastname, int birthyear, int type) {
@@ -125,191 +240,617 @@ public class Database {
         }
 
         if(user != null) {
-            users.add(user);
+            insertUser(user);
         }
     }
 
+    public void insertUser(User user) {
+        users.add(user);
+        userIndex.put(user.getId(), user);
+    }
+
     public void readInUser(String filename) {
+        readInUser(filename, false);
+    }
+
+    /**
+     * Reads the user file like {@link #readInUser(String)}, but the file is mapped into memory and parsed directly
+     * from the mapped buffer. Should be used for very large files.
+     *
+     * @param filename - the file with the users
+     */
+    public void readInUserMapped(String filename) {
+        readInUser(filename, true);
+    }
+
+    /**
+     * Reads the movie file like {@link #readInMovie(String)}, but the file is split into chunks that are parsed at the
+     * same time by the threads of the pool. The movies get the same IDs as if the file was read sequentially.
+     *
+     * @param movieFile - the file with the movies
+     * @param pool - the pool that parses the chunks
+     */
+    public void readInMovieParallel(String movieFile, ForkJoinPool pool) {
         try {
-            Scanner scanner = new Scanner(new File(filename));
+            List<List<Movie>> chunks = new ParallelLineLoader(pool).load(Paths.get(movieFile),
+                    new Supplier<MovieLineParser>() {
+                        @Override
+                        public MovieLineParser get() {
+                            return new MovieLineParser();
+                        }
+                    });
+
+            int count = countElements(chunks);
+
+            if(count == 0) {
+                return;
+            }
 
-            while(scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] information = line.split(";");
+            //reserve the ids for the whole file at once, they are assigned in the order of the file
+            int nextId = DistributionMovie.getIdAllocator().reserve(count);
 
-                String[] name = information[0].trim().split(" ");
-                int birthyear = Integer.parseInt(information[1].trim());
-                int userGroup = Integer.parseInt(information[2].trim());
+            for(List<Movie> chunk : chunks) {
+                for(Movie movie : chunk) {
+                    insertMovie(new DistributionMovie(nextId++, shareTitle(movie)));
+                }
+            }
+        } catch (IOException e) {
+            //also malformed lines, the exception contains the line number
+            e.printStackTrace();
+        }
+    }
 
-                insertUser(name[0], name[1], birthyear, userGroup);
+    /**
+     * Reads the user file like {@link #readInUser(String)}, but the file is split into chunks that are parsed at the
+     * same time by the threads of the pool. The users get the same IDs as if the file was read sequentially.
+     *
+     * @param filename - the file with the users
+     * @param pool - the pool that parses the chunks
+     */
+    public void readInUserParallel(String filename, ForkJoinPool pool) {
+        try {
+            List<List<UserRecord>> chunks = new ParallelLineLoader(pool).load(Paths.get(filename),
+                    new Supplier<UserLineParser>() {
+                        @Override
+                        public UserLineParser get() {
+                            return new UserLineParser();
+                        }
+                    });
+
+            //users with an unknown type are skipped and get no id, like in readInUser
+            int count = countKnownUsers(chunks);
+
+            if(count == 0) {
+                return;
             }
 
-            scanner.close();
-        } catch (FileNotFoundException e) {
+            //reserve the ids for the whole file at once, they are assigned in the order of the file
+            int nextId = User.getIdAllocator().reserve(count);
+
+            for(List<UserRecord> chunk : chunks) {
+                for(UserRecord record : chunk) {
+                    User user = createUser(nextId, record.getSurname(), record.getLastname(),
+                            record.getBirthyear(), record.getType());
+
+                    if(user != null) {
+                        insertUser(user);
+                        nextId++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            //also malformed lines, the exception contains the line number
             e.printStackTrace();
         }
     }
 
     public User getUser(int id) {
-        User user = null;
+        return userIndex.get(id);
+    }
 
-        for(User u : users) {
-            if(u.getId() == id) {
-                user = u;
-                break;
-            }
+    public DistributionMovie getDistributionMovie(int id) {
+        return movieIndex.get(id);
+    }
+
+    public boolean isAllowedToRentMovie(int userId, int movieId) {
+        return isAllowedToRentMovie(getUser(userId), getDistributionMovie(movieId));
+    }
+
+    /**
+     * Rents the movie for the user. Nothing is printed, the result says if the movie was rented and why not. The
+     * results are counted in the rental statistics and rejections are written into the rejection log, if there is one.
+     *
+     * @param userId - the ID of the user
+     * @param movieId - the ID of the movie
+     * @return {@link RentalStatus#RENTED} or the reason why the movie was not rented
+     */
+    public RentalStatus rentMovie(int userId, int movieId) {
+        //look up both entities only once for the whole request
+        User user = getUser(userId);
+        DistributionMovie movie = getDistributionMovie(movieId);
+        RentalStatus status;
+
+        if(user == null) {
+            status = RentalStatus.UNKNOWN_USER;
+        } else if(movie == null) {
+            status = RentalStatus.UNKNOWN_MOVIE;
+        } else {
+            status = rentMovie(user, movie);
         }
 
-        return user;
+        //the indexes are updated by the availability listener of the movie
+        reportRental(userId, movieId, user, movie, status);
+
+        return status;
     }
 
-    public DistributionMovie getDistributionMovie(int id) {
-        DistributionMovie distributionMovie = null;
+    /**
+     * Rents a basket of movies for the user. The user is looked up and the age is calculated only once, all movies are
+     * checked in one pass and the places for the whole basket are reserved at once.
+     *
+     * With {@link RentalMode#ALL_OR_NOTHING} nothing is rented if a single movie can not be rented. If a movie is
+     * rented by someone else while the basket is rented, the movies of the basket that were already rented are
+     * returned again, so other threads may see them as rented for a short time.
+     *
+     * If the journal can not be written all rentals of the basket are undone and have the status
+     * {@link RentalStatus#JOURNAL_FAILED}, like the movies that were not rented yet.
+     *
+     * @param userId - the ID of the user
+     * @param movieIds - the IDs of the movies
+     * @param mode - what happens if a single movie can not be rented
+     * @return the status of every movie, in the same order as the IDs
+     */
+    public RentalStatus[] rentMovies(int userId, int[] movieIds, RentalMode mode) {
+        RentalStatus[] result = new RentalStatus[movieIds.length];
+        User user = getUser(userId);
 
-        for(DistributionMovie m : movies) {
-            if(m.getId() == id) {
-                distributionMovie = m;
-                break;
+        if(user == null) {
+            Arrays.fill(result, RentalStatus.UNKNOWN_USER);
+
+            return reportRentals(userId, movieIds, null, new DistributionMovie[movieIds.length], result);
+        }
+
+        boolean allOrNothing = mode == RentalMode.ALL_OR_NOTHING;
+        DistributionMovie[] basket = new DistributionMovie[movieIds.length];
+        //the status of the movies that can be rented stays null
+        int candidates = checkBasket(user.getAge(), movieIds, basket, result);
+
+        if(allOrNothing && candidates < movieIds.length) {
+            fillCandidates(result, RentalStatus.ROLLED_BACK);
+            return reportRentals(userId, movieIds, user, basket, result);
+        }
+
+        int reserved = candidates == 0 ? 0 : user.reserveRentals(candidates, allOrNothing);
+
+        if(allOrNothing && reserved == 0) {
+            fillCandidates(result, RentalStatus.QUOTA_EXHAUSTED);
+            return reportRentals(userId, movieIds, user, basket, result);
+        }
+
+        RentalJournal currentJournal = journal;
+        long sequence = 0;
+        boolean journalFailed = false;
+
+        try {
+            for(int i = 0; i < basket.length; i++) {
+                if(result[i] != null) {
+                    continue;
+                }
+
+                if(reserved == 0) {
+                    //only possible for best effort, the reserved places are used up
+                    result[i] = RentalStatus.QUOTA_EXHAUSTED;
+                    continue;
+                }
+
+                DistributionMovie movie = basket[i];
+
+                synchronized(movie) {
+                    synchronized(user) {
+                        if(user.rentReservedMovie(movie)) {
+                            reserved--;
+                            result[i] = RentalStatus.RENTED;
+
+                            if(currentJournal != null) {
+                                try {
+                                    sequence = currentJournal.append(RentalJournal.RECORD_RENT, userId,
+                                            movie.getId());
+                                } catch (IOException e) {
+                                    user.returnMovie(movie);
+                                    result[i] = RentalStatus.JOURNAL_FAILED;
+                                    journalFailed = true;
+                                }
+                            }
+                        } else {
+                            result[i] = RentalStatus.UNAVAILABLE;
+                        }
+                    }
+                }
+
+                if(journalFailed) {
+                    break;
+                }
+
+                if(allOrNothing && result[i] == RentalStatus.UNAVAILABLE) {
+                    sequence = Math.max(sequence, rollBack(user, basket, result, i, currentJournal));
+                    break;
+                }
             }
+        } finally {
+            //the places that were not used are released, also if the rental failed with an exception
+            user.releaseRentals(reserved);
+        }
+
+        if(!journalFailed && sequence > 0) {
+            //the whole basket is forced to the storage device at once
+            journalFailed = !awaitJournal(currentJournal, sequence);
+        }
+
+        if(journalFailed) {
+            undoBasket(user, basket, result);
         }
 
-        return distributionMovie;
+        return reportRentals(userId, movieIds, user, basket, result);
     }
 
-    public boolean isAllowedToRentMovie(int userId, int movieId) {
+    /**
+     * Returns the movie rented by the user. The movie becomes available again and all indexes are updated.
+     *
+     * @param userId - the ID of the user
+     * @param movieId - the ID of the movie
+     * @return true if the movie was returned - false if the user or the movie does not exist or the movie is not
+     *         rented by the user
+     * @throws UncheckedIOException if the return can not be written into the journal, the movie stays rented then
+     */
+    public boolean returnMovie(int userId, int movieId) {
         User user = getUser(userId);
         DistributionMovie movie = getDistributionMovie(movieId);
 
-        boolean userAllowedToRent = user.canRentAnotherMovie();
-        boolean userHasFSKAge = user.getAge() >= movie.getFsk();
-        boolean movieAvailable = movie.isMovieAvailable();
+        if(user == null || movie == null) {
+            return false;
+        }
 
-        return userAllowedToRent && userHasFSKAge && movieAvailable;
+        RentalJournal currentJournal = journal;
+        long sequence = 0;
+        boolean returned;
+
+        //the same locks as for the rental keep the journal records of the movie and the user in order
+        synchronized(movie) {
+            synchronized(user) {
+                returned = user.returnMovie(movie);
+
+                if(returned && currentJournal != null) {
+                    try {
+                        sequence = currentJournal.append(RentalJournal.RECORD_RETURN, userId, movieId);
+                    } catch (IOException e) {
+                        undoReturn(user, movie);
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+        }
+
+        if(sequence > 0) {
+            try {
+                currentJournal.awaitDurable(sequence);
+            } catch (IOException e) {
+                undoReturn(user, movie);
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return returned;
+    }
+
+    /**
+     * Sets the executor of the searches. With a parallel executor big scans and results are split into ranges of IDs
+     * that are processed at the same time, the results are the same as with a sequential executor.
+     *
+     * @param executor - the new executor
+     */
+    public void setQueryExecutor(QueryExecutor executor) {
+        this.queryExecutor = executor;
     }
 
-    public void rentMovie(int userId, int movieId) {
-        boolean rentingAllowed = isAllowedToRentMovie(userId, movieId);
+    /**
+     * Returns the counters of the rental results by status.
+     *
+     * @return the rental statistics
+     */
+    public RentalStatistics getRentalStatistics() {
+        return rentalStatistics;
+    }
 
-        if(rentingAllowed) {
-            User user = getUser(userId);
-            DistributionMovie movie = getDistributionMovie(movieId);
+    /**
+     * Sets the log for the rejected rentals, null if the rejections should not be logged. The log is not closed by the
+     * database.
+     *
+     * @param log - the rejection log or null
+     */
+    public void setRejectionLog(AsyncRejectionLog log) {
+        this.rejectionLog = log;
+    }
 
-            user.rentMovie(movie);
-            movie.setMovieAvailable(DistributionMovie.MOVIE_UNAVAILABLE);
-        } else {
-            String user = getUser(userId).getName();
-            String movie = getDistributionMovie(movieId).getTitle();
+    /**
+     * Reseeds the id allocators of the movies and users, so that the next IDs are higher than every ID in the
+     * database. Has to be called after movies or users with already assigned IDs were inserted, e.g. on startup with
+     * persisted data.
+     */
+    public void reseedIds() {
+        int nextMovieId = DistributionMovie.getIdAllocator().peekNextId();
+        int nextUserId = User.getIdAllocator().peekNextId();
 
-            String output = String.format("User %s is not allowed to rent the movie '%s' with Movie-ID %d",
-                    user, movie, movieId);
+        for(DistributionMovie m : movies) {
+            nextMovieId = Math.max(nextMovieId, m.getId() + 1);
+        }
 
-            System.out.println(output);
+        for(User u : users) {
+            nextUserId = Math.max(nextUserId, u.getId() + 1);
         }
+
+        DistributionMovie.getIdAllocator().reseed(nextMovieId);
+        User.getIdAllocator().reseed(nextUserId);
     }
 
-    public DistributionMovie createNewCopyOfDistributionMovie(int id) {
-        DistributionMovie movie = getDistributionMovie(id);
+    /**
+     * Writes a binary snapshot of the database into the file: the movies with their availability, the users with their
+     * rented movies and the next IDs of the id allocators. The snapshot can be loaded with
+     * {@link #loadSnapshot(String)}.
+     *
+     * No movies should be rented while the snapshot is written, otherwise the snapshot may contain only a part of the
+     * rentals. The snapshot contains the sequence number of the last journal record, so only the newer records are
+     * replayed by {@link #openJournal(String, long, TimeUnit)}. After the snapshot is written the older records are
+     * removed from the journal, from then on the journal can only be replayed on top of this snapshot.
+     *
+     * @param filename - the name of the file
+     * @return the size of the snapshot in bytes
+     * @throws IOException if the file or the journal can not be written
+     */
+    public long saveSnapshot(String filename) throws IOException {
+        RentalJournal currentJournal = journal;
+        long sequence = currentJournal == null ? journalSequence : currentJournal.getLastSequence();
+        Snapshot snapshot = new Snapshot(DistributionMovie.getIdAllocator().peekNextId(),
+                User.getIdAllocator().peekNextId(), sequence, movies, users);
+
+        long size = new SnapshotWriter().write(Paths.get(filename), snapshot);
+
+        if(currentJournal != null) {
+            currentJournal.checkpoint(sequence);
+        }
 
-        return new DistributionMovie(movie);
+        return size;
     }
 
-    public List<DistributionMovie> searchFSK(int lowerBound, int upperBound) {
-        List<DistributionMovie> list = new ArrayList<>();
+    /**
+     * Loads a snapshot written by {@link #saveSnapshot(String)} into this database, which has to be empty. The id
+     * allocators continue with the IDs stored in the snapshot.
+     *
+     * @param filename - the name of the file
+     * @throws IOException if the file can not be read or is not a valid snapshot
+     */
+    public void loadSnapshot(String filename) throws IOException {
+        if(!movies.isEmpty() || !users.isEmpty()) {
+            throw new IllegalStateException("A snapshot can only be loaded into an empty database");
+        }
 
-        for(DistributionMovie m : movies) {
-            int fsk = m.getFsk();
+        Snapshot snapshot = new SnapshotReader().read(Paths.get(filename));
 
-            if(fsk >= lowerBound && fsk <= upperBound) {
-                list.add(m);
-            }
+        for(DistributionMovie movie : snapshot.getMovies()) {
+            //the movies of the snapshot are already shared, the genres and persons are registered by the insert
+            insertMovie(movie);
         }
 
-        return list;
+        for(User user : snapshot.getUsers()) {
+            insertUser(user);
+        }
+
+        DistributionMovie.getIdAllocator().reseed(snapshot.getNextMovieId());
+        User.getIdAllocator().reseed(snapshot.getNextUserId());
+        //the stored IDs are never lower than the IDs in the snapshot, unless the file was edited
+        reseedIds();
+
+        journalSequence = snapshot.getJournalSequence();
     }
 
-    public List<DistributionMovie> searchGenre(String genre) {
-        List<DistributionMovie> list = new ArrayList<>();
+    /**
+     * Opens the rental journal. All rentals and returns in the journal that are newer than the loaded snapshot are
+     * replayed, from then on every rental and return is written into the journal before {@link #rentMovie(int, int)}
+     * or {@link #returnMovie(int, int)} returns.
+     *
+     * On startup the snapshot has to be loaded first, then the journal is opened.
+     *
+     * @param filename - the name of the journal file, it is created if it does not exist
+     * @param batchWindow - how long a rental waits for other rentals before the journal is forced to the storage
+     *                    device, 0 to force the journal immediately
+     * @param unit - the unit of the batch window
+     * @return the number of replayed records that were ignored, because their user or movie is not in the database or
+     *         they do not match the state of the movie
+     * @throws IOException if the journal can not be opened
+     */
+    public int openJournal(String filename, long batchWindow, TimeUnit unit) throws IOException {
+        if(journal != null) {
+            throw new IllegalStateException("The journal is already open");
+        }
 
-        for(DistributionMovie m : movies) {
-            //to lower case just to prevent spelling mistakes
-            if(m.getGenre().toLowerCase().contains(genre.toLowerCase())) {
-                list.add(m);
+        //the records are replayed by this thread before open returns
+        final int[] ignored = new int[1];
+
+        journal = RentalJournal.open(Paths.get(filename), journalSequence, batchWindow, unit, new JournalHandler() {
+            @Override
+            public void handleRecord(long sequence, int type, int userId, int movieId) {
+                if(!replayJournalRecord(type, userId, movieId)) {
+                    ignored[0]++;
+                }
             }
+        });
+
+        return ignored[0];
+    }
+
+    /**
+     * Closes the rental journal, all rentals are forced to the storage device before.
+     *
+     * @throws IOException if the journal can not be written
+     */
+    public void closeJournal() throws IOException {
+        RentalJournal currentJournal = journal;
+
+        if(currentJournal != null) {
+            journalSequence = currentJournal.getLastSequence();
+            journal = null;
+            currentJournal.close();
         }
+    }
 
-        return list;
+    public DistributionMovie createNewCopyOfDistributionMovie(int id) {
+        DistributionMovie movie = getDistributionMovie(id);
+
+        //the copy shares the movie with the original
+        return new DistributionMovie(movie.getMovie());
+    }
+
+    public List<DistributionMovie> searchFSK(int lowerBound, int upperBound) {
+        //only the FSK buckets in the range are used
+        return toMovieList(fskIndex.search(lowerBound, upperBound));
+    }
+
+    /**
+     * Searches all movies whose genre contains the text. Upper and lower case are ignored.
+     *
+     * @param genre - the search text
+     * @return the movies sorted by id
+     */
+    public List<DistributionMovie> searchGenre(String genre) {
+        //the search is done once per title, the result contains all copies of the titles
+        return toMovieList(titles.copiesOf(genreIndex.search(genre)));
+    }
+
+    /**
+     * Searches all movies of a combination of genres, e.g. "Crime AND Drama" or "Crime OR Comedy". AND binds stronger
+     * than OR and upper and lower case are ignored.
+     *
+     * @param expression - the combination of genres
+     * @return the movies sorted by id
+     */
+    public List<DistributionMovie> searchGenreExpression(String expression) {
+        return toMovieList(titles.copiesOf(genreIndex.searchExpression(expression)));
+    }
+
+    /**
+     * Creates a new query that combines the searches, e.g.
+     * {@code query().genre("Crime").name("Tom").available().forUser(3).list()}.
+     *
+     * @return a new query without predicates
+     */
+    public MovieQuery query() {
+        return new MovieQuery(querySource);
     }
 
     public List<DistributionMovie> searchName(String name) {
-        List<DistributionMovie> list = new ArrayList<>();
+        //the search is done once per title, the result contains all copies of the titles sorted by id
+        return toMovieList(titles.copiesOf(nameIndex.search(name)));
+    }
 
-        for(DistributionMovie m : movies) {
-            if(containsName(name, m.getDirector()) || containsName(name, m.getActors())) {
-                list.add(m);
-            }
-        }
+    /**
+     * Searches all movies of a person. Unlike {@link #searchName(String)} the person is compared by the person id, so
+     * only the movies of exactly this director or actor are found.
+     *
+     * @param person - the director or actor
+     * @return the movies sorted by id
+     */
+    public List<DistributionMovie> searchPerson(Human person) {
+        int personId = people.findPersonId(person.getSurname(), person.getLastname());
 
-        return list;
+        return toMovieList(titles.copiesOf(nameIndex.search(personId)));
     }
 
     public List<DistributionMovie> getAvailableMovies(int userId) {
         User user = getUser(userId);
         int age = user.getAge();
 
-        List<DistributionMovie> list = new ArrayList<>();
+        //only the FSK buckets up to the age of the user are used
+        return toMovieList(fskIndex.searchAvailable(age));
+    }
 
-        for(DistributionMovie m : movies) {
-            if(m.isMovieAvailable()) {
-                if(age >= m.getFsk()) {
-                    list.add(m);
-                }
-            }
-        }
+    /**
+     * Returns all available movies, only the available movies are checked.
+     *
+     * @return the available movies sorted by id
+     */
+    public List<DistributionMovie> getAvailableMovies() {
+        return toMovieList(availabilityIndex.toBitSet());
+    }
 
-        return list;
+    /**
+     * Returns the number of available movies without checking any movie.
+     *
+     * @return number of available movies
+     */
+    public int countAvailableMovies() {
+        return availabilityIndex.count();
     }
 
-    public void writeMovieListInFile(List<DistributionMovie> movie, String filename) {
-        try {
-            FileWriter fw = new FileWriter(filename);
-            BufferedWriter bw = new BufferedWriter(fw);
+    /**
+     * Writes the movies into the file (UTF-8), every movie is followed by an empty line.
+     *
+     * @param movie - the movies that should be written
+     * @param filename - the name of the file
+     * @return the size and the duration of the export or null if the file could not be written
+     */
+    public ExportStatistics writeMovieListInFile(List<DistributionMovie> movie, String filename) {
+        long start = System.nanoTime();
 
+        try(ChannelTextWriter out = new ChannelTextWriter(Paths.get(filename))) {
             for(DistributionMovie m : movie) {
-                bw.write(m.toString());
-                bw.newLine();
+                m.appendTo(out);
+                Appendables.appendLine(out);
             }
 
-            bw.close();
+            out.flush();
+
+            return new ExportStatistics(movie.size(), out.getBytesWritten(), System.nanoTime() - start);
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        return null;
     }
 
-    public void writeDatabase(String filename) {
-        try {
-            FileWriter fw = new FileWriter(filename);
-            BufferedWriter bw = new BufferedWriter(fw);
+    /**
+     * Writes all movies and all users of the database into the file (UTF-8).
+     *
+     * @param filename - the name of the file
+     * @return the size and the duration of the export or null if the file could not be written
+     */
+    public ExportStatistics writeDatabase(String filename) {
+        long start = System.nanoTime();
 
-            bw.write("Movie:");
-            bw.newLine();
+        try(ChannelTextWriter out = new ChannelTextWriter(Paths.get(filename))) {
+            out.append("Movie:");
+            Appendables.appendLine(out);
 
             for(DistributionMovie m : movies) {
-                bw.write(m.toString());
-                bw.newLine();
+                m.appendTo(out);
+                Appendables.appendLine(out);
             }
 
-            bw.write("User:");
-            bw.newLine();
+            out.append("User:");
+            Appendables.appendLine(out);
 
             for(User u : users) {
-                bw.write(u.toString());
-                bw.newLine();
+                u.appendTo(out);
+                Appendables.appendLine(out);
             }
 
-            bw.close();
+            out.flush();
+
+            return new ExportStatistics(movies.size() + users.size(), out.getBytesWritten(),
+                    System.nanoTime() - start);
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        return null;
     }
 
     @Override
@@ -317,22 +858,430 @@ public class Database {
         return "String string"; //TODO: implement
     }
 
-    //helper method to check if an human has the name
-    private boolean containsName(String name, Human ... human) {
-        boolean result = false;
+    //helper method that returns the movie that should be used for a new copy: the already existing equal movie or a
+    //new movie with the shared humans and genre, so that equal values are only stored once
+    private Movie shareTitle(Movie movie) {
+        int titleId = titles.getTitleId(movie);
+
+        if(titleId >= 0) {
+            return titles.getTitle(titleId);
+        }
+
+        //getActors returns a copy, so the shared humans can be put into it
+        Human[] actors = movie.getActors();
+
+        for(int i = 0; i < actors.length; i++) {
+            actors[i] = people.intern(actors[i]);
+        }
+
+        return new Movie(movie.getTitle(), movie.getPublishingYear(), genres.intern(movie.getGenre()),
+                movie.getFsk(), people.intern(movie.getDirector()), actors);
+    }
+
+    //helper method that reads the movie file with the chosen line reader
+    private void readInMovie(String movieFile, boolean mapped) {
+        try(FileChannel channel = FileChannel.open(Paths.get(movieFile), StandardOpenOption.READ)) {
+            final MovieLineParser parser = new MovieLineParser();
+
+            createLineReader(channel, mapped).readLines(new LineHandler() {
+                @Override
+                public void handleLine(ByteBuffer buffer, int start, int end, long lineNumber) throws IOException {
+                    Movie movie = parser.parse(buffer, start, end, lineNumber);
+
+                    //copies of the same title share the movie
+                    insertMovie(new DistributionMovie(shareTitle(movie)));
+                }
+            });
+        } catch (IOException e) {
+            //also malformed lines, the exception contains the line number
+            e.printStackTrace();
+        }
+    }
+
+    //helper method that reads the user file with the chosen line reader
+    private void readInUser(String filename, boolean mapped) {
+        try(FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            final UserLineParser parser = new UserLineParser();
+
+            createLineReader(channel, mapped).readLines(new LineHandler() {
+                @Override
+                public void handleLine(ByteBuffer buffer, int start, int end, long lineNumber) throws IOException {
+                    UserRecord record = parser.parse(buffer, start, end, lineNumber);
+
+                    insertUser(record.getSurname(), record.getLastname(), record.getBirthyear(), record.getType());
+                }
+            });
+        } catch (IOException e) {
+            //also malformed lines, the exception contains the line number
+            e.printStackTrace();
+        }
+    }
+
+    //helper method to create the line reader for a file
+    private static LineReader createLineReader(FileChannel channel, boolean mapped) {
+        if(mapped) {
+            return new MappedLineReader(channel);
+        }
+
+        return new ChannelLineReader(channel);
+    }
+
+    //helper method to create an user with an already assigned id, null if the type is unknown
+    private static User createUser(int id, String firstname, String lastname, int birthyear, int type) {
+        User user = null;
+
+        if(type == User.USER_STANDARD) {
+            user = new Standarduser(id, firstname, lastname, birthyear);
+        } else if(type == User.USER_PREMIUM) {
+            user = new Premiumuser(id, firstname, lastname, birthyear);
+        }
+
+        return user;
+    }
+
+    //helper method to count the users of all chunks that have a known type
+    private static int countKnownUsers(List<List<UserRecord>> chunks) {
+        int count = 0;
+
+        for(List<UserRecord> chunk : chunks) {
+            for(UserRecord record : chunk) {
+                if(record.getType() == User.USER_STANDARD || record.getType() == User.USER_PREMIUM) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    //helper method to count the elements of all chunks
+    private static int countElements(List<? extends List<?>> chunks) {
+        int count = 0;
+
+        for(List<?> chunk : chunks) {
+            count += chunk.size();
+        }
+
+        return count;
+    }
+
+    //helper method that applies a replayed journal record, the checks were already done when it was written, so the
+    //quota of the user is not checked again. Returns false if the record can not be applied: the user or the movie
+    //is not in the snapshot, the movie is already rented or is not rented by the user, or the type is unknown.
+    private boolean replayJournalRecord(int type, int userId, int movieId) {
+        User user = getUser(userId);
+        DistributionMovie movie = getDistributionMovie(movieId);
+
+        if(user == null || movie == null) {
+            return false;
+        }
+
+        if(type == RentalJournal.RECORD_RENT) {
+            if(!movie.tryToRent()) {
+                return false;
+            }
+
+            user.rentMovie(movie);
+
+            return true;
+        }
+
+        return type == RentalJournal.RECORD_RETURN && user.returnMovie(movie);
+    }
+
+    //helper method that waits until the record is on the storage device, returns false if the journal failed. The
+    //record may still be on the storage device then, but the journal can not be used anymore, so the database has
+    //to be restored from the last snapshot and the journal anyway.
+    private static boolean awaitJournal(RentalJournal journal, long sequence) {
+        try {
+            journal.awaitDurable(sequence);
+
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    //helper method that undoes a rental in memory, because it could not be written into the journal
+    private static void undoRental(User user, DistributionMovie movie) {
+        synchronized(movie) {
+            synchronized(user) {
+                user.returnMovie(movie);
+            }
+        }
+    }
+
+    //helper method that undoes a return in memory, because it could not be written into the journal
+    private static void undoReturn(User user, DistributionMovie movie) {
+        synchronized(movie) {
+            synchronized(user) {
+                //nobody else can rent the movie while its lock is held by the return
+                if(movie.tryToRent()) {
+                    user.rentMovie(movie);
+                }
+            }
+        }
+    }
+
+    //helper method that rents the movie for the user and returns the status, the status constants are shared so the
+    //successful rental does not create any objects
+    private RentalStatus rentMovie(User user, DistributionMovie movie) {
+        //the age can not change during the rental
+        if(user.getAge() < movie.getFsk()) {
+            return RentalStatus.AGE_LIMIT;
+        }
+
+        RentalJournal currentJournal = journal;
+        long sequence = 0;
 
-        for(Human h : human) {
-            if(h.getName().toLowerCase().contains(name.toLowerCase())) {
-                result = true;
-                break;
+        //the number of movies and the availability are checked and changed atomically by the user and the movie, so no
+        //global lock is needed. The locks only make sure that the journal records of one movie and of one user are in
+        //the same order as the changes (always the movie first, then the user).
+        synchronized(movie) {
+            synchronized(user) {
+                if(user.reserveRentals(1, true) == 0) {
+                    return RentalStatus.QUOTA_EXHAUSTED;
+                }
+
+                if(!user.rentReservedMovie(movie)) {
+                    user.releaseRentals(1);
+                    return RentalStatus.UNAVAILABLE;
+                }
+
+                if(currentJournal != null) {
+                    try {
+                        sequence = currentJournal.append(RentalJournal.RECORD_RENT, user.getId(), movie.getId());
+                    } catch (IOException e) {
+                        user.returnMovie(movie);
+                        return RentalStatus.JOURNAL_FAILED;
+                    }
+                }
             }
         }
 
+        //the rental is only finished when it is on the storage device, many rentals share one fsync
+        if(sequence > 0 && !awaitJournal(currentJournal, sequence)) {
+            undoRental(user, movie);
+            return RentalStatus.JOURNAL_FAILED;
+        }
+
+        return RentalStatus.RENTED;
+    }
+
+    //helper method that reports the status of every movie of a basket, also of baskets that were rejected at once
+    private RentalStatus[] reportRentals(int userId, int[] movieIds, User user, DistributionMovie[] basket,
+                                         RentalStatus[] result) {
+        for(int i = 0; i < result.length; i++) {
+            reportRental(userId, movieIds[i], user, basket[i], result[i]);
+        }
+
         return result;
     }
 
+    //helper method that counts the result of a rental and logs it, if it was rejected
+    private void reportRental(int userId, int movieId, User user, DistributionMovie movie, RentalStatus status) {
+        rentalStatistics.record(status);
+
+        if(!status.isRented()) {
+            AsyncRejectionLog log = rejectionLog;
+
+            if(log != null) {
+                log.log(userId, movieId, user == null ? null : user.getName(), movie == null ? null : movie.getTitle(),
+                        status);
+            }
+        }
+    }
+
+    //helper method that looks up the movies of a basket and sets the status of every movie that can not be rented
+    private int checkBasket(int age, int[] movieIds, DistributionMovie[] basket, RentalStatus[] result) {
+        IntHashSet seen = new IntHashSet();
+        int candidates = 0;
+
+        for(int i = 0; i < movieIds.length; i++) {
+            DistributionMovie movie = getDistributionMovie(movieIds[i]);
+            basket[i] = movie;
+
+            if(movie == null) {
+                result[i] = RentalStatus.UNKNOWN_MOVIE;
+            } else if(!seen.add(movieIds[i])) {
+                result[i] = RentalStatus.DUPLICATE;
+            } else if(age < movie.getFsk()) {
+                result[i] = RentalStatus.AGE_LIMIT;
+            } else if(!movie.isMovieAvailable()) {
+                result[i] = RentalStatus.UNAVAILABLE;
+            } else {
+                candidates++;
+            }
+        }
+
+        return candidates;
+    }
+
+    //helper method that sets the status of every movie that has no status yet
+    private static void fillCandidates(RentalStatus[] result, RentalStatus status) {
+        for(int i = 0; i < result.length; i++) {
+            if(result[i] == null) {
+                result[i] = status;
+            }
+        }
+    }
+
+    //helper method that returns the movies of the basket that were rented before the failed movie, returns the last
+    //journal sequence number
+    private long rollBack(User user, DistributionMovie[] basket, RentalStatus[] result, int failed,
+                          RentalJournal currentJournal) {
+        long sequence = 0;
+
+        for(int i = 0; i < failed; i++) {
+            if(result[i] == RentalStatus.RENTED) {
+                DistributionMovie movie = basket[i];
+
+                synchronized(movie) {
+                    synchronized(user) {
+                        user.returnMovie(movie);
+
+                        if(currentJournal != null) {
+                            try {
+                                sequence = currentJournal.append(RentalJournal.RECORD_RETURN, user.getId(),
+                                        movie.getId());
+                            } catch (IOException e) {
+                                //the movie is returned anyway, the basket must not stay rented
+                            }
+                        }
+                    }
+                }
+
+                result[i] = RentalStatus.ROLLED_BACK;
+            }
+        }
+
+        //the movies after the failed movie are not rented at all
+        fillCandidates(result, RentalStatus.ROLLED_BACK);
+
+        return sequence;
+    }
+
+    //helper method that undoes the rentals of the basket after the journal failed, the movies that were not rented
+    //yet are not rented at all
+    private static void undoBasket(User user, DistributionMovie[] basket, RentalStatus[] result) {
+        for(int i = 0; i < result.length; i++) {
+            if(result[i] == RentalStatus.RENTED) {
+                undoRental(user, basket[i]);
+                result[i] = RentalStatus.JOURNAL_FAILED;
+            }
+        }
+
+        fillCandidates(result, RentalStatus.JOURNAL_FAILED);
+    }
+
+    //helper method to check if an user is allowed to rent the movie
+    private boolean isAllowedToRentMovie(User user, DistributionMovie movie) {
+        boolean userAllowedToRent = user.canRentAnotherMovie();
+        boolean userHasFSKAge = user.getAge() >= movie.getFsk();
+        boolean movieAvailable = movie.isMovieAvailable();
+
+        return userAllowedToRent && userHasFSKAge && movieAvailable;
+    }
+
+    //helper method that copies the availability of the movie into the indexes
+    private void updateAvailability(DistributionMovie movie) {
+        //the lock of the movie makes sure that the last update wins, the value is read again inside the lock
+        synchronized(movie) {
+            boolean available = movie.isMovieAvailable();
+
+            availabilityIndex.setAvailable(movie.getId(), available);
+            fskIndex.setAvailable(movie.getId(), movie.getFsk(), available);
+        }
+    }
+
+    //helper method that creates the access of the queries to the indexes
+    private QuerySource createQuerySource() {
+        return new QuerySource() {
+            @Override
+            public BitSet searchGenreTitles(String genre) {
+                return genreIndex.search(genre);
+            }
+
+            @Override
+            public BitSet searchGenreExpressionTitles(String expression) {
+                return genreIndex.searchExpression(expression);
+            }
+
+            @Override
+            public BitSet searchNameTitles(String name) {
+                return nameIndex.search(name);
+            }
+
+            @Override
+            public int countCopies(BitSet titleIds) {
+                return titles.countCopies(titleIds);
+            }
+
+            @Override
+            public BitSet copiesOf(BitSet titleIds) {
+                return titles.copiesOf(titleIds);
+            }
+
+            @Override
+            public BitSet searchFsk(int lowerBound, int upperBound) {
+                return fskIndex.search(lowerBound, upperBound);
+            }
+
+            @Override
+            public int countFsk(int lowerBound, int upperBound) {
+                return fskIndex.count(lowerBound, upperBound);
+            }
+
+            @Override
+            public BitSet searchAvailable() {
+                return availabilityIndex.toBitSet();
+            }
+
+            @Override
+            public int countAvailable() {
+                return availabilityIndex.count();
+            }
+
+            @Override
+            public MovieTable getMovieTable() {
+                return movieTable;
+            }
+
+            @Override
+            public DistributionMovie getMovie(int movieId) {
+                return movieIndex.get(movieId);
+            }
+
+            @Override
+            public List<DistributionMovie> toMovieList(BitSet movieIds) {
+                return Database.this.toMovieList(movieIds);
+            }
+
+            @Override
+            public QueryExecutor getQueryExecutor() {
+                return queryExecutor;
+            }
+
+            @Override
+            public int getUserAge(int userId) {
+                User user = userIndex.get(userId);
+
+                return user == null ? QuerySource.UNKNOWN_USER : user.getAge();
+            }
+        };
+    }
+
+    //helper method that returns the movies with the ids in the set, sorted by id
+    private List<DistributionMovie> toMovieList(BitSet movieIds) {
+        //big results are looked up in parallel, if parallel queries are enabled
+        return queryExecutor.toList(movieIds, movieIndex);
+    }
+
     public static void main(String[] args) {
         Database data = new Database();
+        // Abgelehnte Ausleihen werden im Hintergrund auf der Konsole ausgegeben
+        AsyncRejectionLog rejectionLog = new AsyncRejectionLog(System.out);
+        data.setRejectionLog(rejectionLog);
         data.readInMovie(".\\Input_movies.txt"); //change this to ./ on unix
         data.readInUser(".\\Input_users.txt"); //change this to ./ on unix
 
@@ -389,6 +1338,8 @@ public class Database {
         data.rentMovie(4, 8);
         numMov = data.getUser(4).getNumberOfRentedMovies()+1;
         System.out.println("The " + numMov +". movie for " + data.getUser(4).getName() + " costs " + data.getUser(4).getPriceForMovie());
+        // Die abgelehnten Ausleihen werden vor den weiteren Ausgaben geschrieben
+        rejectionLog.flush();
 
         // Ausleihbare Filme fuer User werden jeweils in einer Datei ausgegeben
         // Fuer User mit ID 1 ausleihbar: Filme mit ID 6, 7
@@ -424,6 +1375,10 @@ public class Database {
         data.writeMovieListInFile(data.searchName("Zeta"), ".\\Movies_with_Zeta.txt"); //change this to ./name on unix
 
         // Alle Filme (9 Stueck) und User (5 Stueck) werden in Datei ausgegeben
-        data.writeDatabase(".\\Output_Database.txt"); //change this to ./name on unix
+        System.out.println("Export: " + data.writeDatabase(".\\Output_Database.txt")); //change this to ./name on unix
+
+        // Das Log wird geschlossen, damit alle Ablehnungen vor der Statistik stehen
+        rejectionLog.close();
+        System.out.println("Rentals: " + data.getRentalStatistics());
     }
 }
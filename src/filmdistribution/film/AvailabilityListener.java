@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.film;
+
+/**
+ * An AvailabilityListener is informed every time a distribution movie becomes available or unavailable, so that
+ * indexes of the available movies can be updated without checking every movie.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.film.DistributionMovie
+ */
+public interface AvailabilityListener {
+    /**
+     * This method is called after the availability of the movie has changed. If the availability changes again
+     * while this method runs, it is called again, so the current value should be read from the movie.
+     *
+     * @param movie - the movie whose availability has changed
+     */
+    void availabilityChanged(DistributionMovie movie);
+}
@@ -31,41 +31,74 @@
 
 package filmdistribution.film;
 
+import filmdistribution.id.AtomicIdAllocator;
+import filmdistribution.id.IdAllocator;
 import filmdistribution.person.Human;
+import filmdistribution.util.Appendables;
+
+import java.io.IOException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Is basically a movie that can be rented, so it has more information stored, weather the movie is available or not
- * and the unique ID of the movie in the database.
+ * Is basically a copy of a movie that can be rented, so it has more information stored, weather the movie is
+ * available or not and the unique ID of the movie in the database.
+ *
+ * All copies of a title share one (immutable) movie, a copy only stores its own ID and availability.
+ *
+ * A DistributionMovie is no longer a subclass of {@link Movie}. Code that used a DistributionMovie as a Movie has to
+ * use {@link #getMovie()} instead, the getters of the movie are still available on the copy.
  *
  * @author Sascha Lutzenberger
  * @version 1.0 - 26 Januar 2018
  *
  * @see filmdistribution.film.Movie
  */
-public class DistributionMovie extends Movie {
+public class DistributionMovie {
     //public constants for declearing a movie available or not available
     public final static boolean MOVIE_AVAILABLE = true;
     public final static boolean MOVIE_UNAVAILABLE = false;
 
     //final attributes of the distribution movie
     private final int movieId;
-    //changeable attributes
-    private boolean movieAvailable;
+    private final Movie movie;
+    //changeable attributes (atomic, so that two threads can not rent the same copy)
+    private final AtomicBoolean movieAvailable;
+    //is informed about every change of the availability, may be null
+    private volatile AvailabilityListener availabilityListener;
 
-    //static class member counter (also starts with the default id = 1
-    private static int nextId = 1;
+    //static class member allocator for the ids (also starts with the default id = 1)
+    private static volatile IdAllocator idAllocator = new AtomicIdAllocator(1);
 
     /**
-     * This constructs a new DistributionMovie. With an already existing movie.
+     * This constructs a new DistributionMovie. With an already existing movie, the movie is not copied but shared
+     * with all other copies of the movie.
      *
      * @param movie - The movie that should be inserted
      *
      * @see filmdistribution.film.Movie
      */
     public DistributionMovie(Movie movie) {
-        //calls the other constructor with the right parameters
-        this(movie.getTitle(), movie.getPublishingYear(), movie.getGenre(),
-                movie.getFsk(), movie.getDirector(), movie.getActors());
+        //unique movie id calculation
+        this(idAllocator.nextId(), movie);
+    }
+
+    /**
+     * This constructs a new DistributionMovie with an already existing movie and an ID that was already assigned, for
+     * example a restored movie or a movie from a range of IDs that was reserved with {@link IdAllocator#reserve(int)}.
+     *
+     * The ID is not checked, the caller has to make sure that it is unique and that the allocator is reseeded if the
+     * ID was not handed out by it.
+     *
+     * @param movieId - The unique ID of the movie
+     * @param movie - The movie that should be inserted, it is shared with all other copies of the movie
+     */
+    public DistributionMovie(int movieId, Movie movie) {
+        this.movieId = movieId;
+        this.movie = movie;
+
+        //every movie is available by default
+        this.movieAvailable = new AtomicBoolean(MOVIE_AVAILABLE);
     }
 
     /**
@@ -83,15 +116,43 @@ public class DistributionMovie extends Movie {
      * @see filmdistribution.film.Movie
      */
     public DistributionMovie(String title, int publishingYear, String genre, int fsk, Human director, Human[] actors) {
-        super(title, publishingYear, genre, fsk, director, actors);
+        //unique movie id calculation
+        this(idAllocator.nextId(), title, publishingYear, genre, fsk, director, actors);
+    }
 
-        //every movie is available by default
-        movieAvailable = true;
+    /**
+     * This constructs a new DistributionMovie with an ID that was already assigned.
+     *
+     * @param movieId - The unique ID of the movie
+     * @param title - The title of the movie
+     * @param publishingYear - The year when the movie was published
+     * @param genre - The genre of the movie
+     * @param fsk - The rated age information of the movie
+     * @param director - The director (a human) who directed the movie
+     * @param actors - An array of 3 actors that played in the movie
+     */
+    public DistributionMovie(int movieId, String title, int publishingYear, String genre, int fsk, Human director,
+                             Human[] actors) {
+        this(movieId, new Movie(title, publishingYear, genre, fsk, director, actors));
+    }
 
-        //unique movie id calculation
-        movieId = nextId;
-        //increment the id counter
-        nextId++;
+    /**
+     * This method returns the allocator that hands out the IDs of new movies.
+     *
+     * @return the id allocator of the movies
+     */
+    public static IdAllocator getIdAllocator() {
+        return idAllocator;
+    }
+
+    /**
+     * This method changes the allocator that hands out the IDs of new movies, for example to a
+     * {@link filmdistribution.id.BlockIdAllocator} for a parallel import.
+     *
+     * @param allocator - the new id allocator of the movies
+     */
+    public static void setIdAllocator(IdAllocator allocator) {
+        idAllocator = allocator;
     }
 
     /**
@@ -103,13 +164,76 @@ public class DistributionMovie extends Movie {
         return movieId;
     }
 
+    /**
+     * This method returns the movie of this copy, the movie is shared with all other copies of the movie.
+     *
+     * @return the movie
+     */
+    public Movie getMovie() {
+        return movie;
+    }
+
+    /**
+     * This method returns the title of the movie.
+     *
+     * @return title of the movie
+     */
+    public String getTitle() {
+        return movie.getTitle();
+    }
+
+    /**
+     * This method returns the publishing year of the movie.
+     *
+     * @return publishing Year of the movie
+     */
+    public int getPublishingYear() {
+        return movie.getPublishingYear();
+    }
+
+    /**
+     * This method returns the genre of the movie.
+     *
+     * @return genre of the movie
+     */
+    public String getGenre() {
+        return movie.getGenre();
+    }
+
+    /**
+     * This method returns the FSK age rating of the movie.
+     *
+     * @return the fsk age rating
+     */
+    public int getFsk() {
+        return movie.getFsk();
+    }
+
+    /**
+     * This method returns the director of the movie.
+     *
+     * @return director of the movie.
+     */
+    public Human getDirector() {
+        return movie.getDirector();
+    }
+
+    /**
+     * This method returns an array that contains the actors of the movie.
+     *
+     * @return array with the actors
+     */
+    public Human[] getActors() {
+        return movie.getActors();
+    }
+
     /**
      * This method checks weather a movie is available for renting or not.
      *
      * @return true - movie is available for renting - false the movie is already rented
      */
     public boolean isMovieAvailable() {
-        return movieAvailable;
+        return movieAvailable.get();
     }
 
     /**
@@ -118,7 +242,44 @@ public class DistributionMovie extends Movie {
      * @param movieAvailable is the movie available for renting - yes = true; no = false;
      */
     public void setMovieAvailable(boolean movieAvailable) {
-        this.movieAvailable = movieAvailable;
+        if(this.movieAvailable.getAndSet(movieAvailable) != movieAvailable) {
+            notifyAvailabilityListener();
+        }
+    }
+
+    /**
+     * This method marks the movie as rented, but only if it is available. Checking and changing the availability is
+     * one atomic step, so if many threads try to rent the same copy only one of them will succeed.
+     *
+     * @return true if the movie was available and is now rented - false if the movie was already rented
+     */
+    public boolean tryToRent() {
+        boolean rented = movieAvailable.compareAndSet(MOVIE_AVAILABLE, MOVIE_UNAVAILABLE);
+
+        if(rented) {
+            notifyAvailabilityListener();
+        }
+
+        return rented;
+    }
+
+    /**
+     * This method sets the listener that is informed every time the availability of the movie changes. A movie can
+     * only have one listener, usually the database the movie was inserted into.
+     *
+     * @param listener - the new listener or null
+     */
+    public void setAvailabilityListener(AvailabilityListener listener) {
+        this.availabilityListener = listener;
+    }
+
+    //helper method to inform the listener about a change of the availability
+    private void notifyAvailabilityListener() {
+        AvailabilityListener listener = availabilityListener;
+
+        if(listener != null) {
+            listener.availabilityChanged(this);
+        }
     }
 
     /**
@@ -128,10 +289,44 @@ public class DistributionMovie extends Movie {
      */
     @Override
     public String toString() {
+        return appendTo(new StringBuilder(160)).toString();
+    }
+
+    /**
+     * Appends the same information as {@link #toString()} to the builder.
+     *
+     * @param builder - the builder the information is appended to
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        try {
+            appendTo((Appendable) builder);
+        } catch (IOException e) {
+            //a string builder does not throw io exceptions
+            throw new IllegalStateException(e);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Appends the same information as {@link #toString()} to the output, without creating the string first.
+     *
+     * @param out - the output the information is appended to
+     * @throws IOException if the output can not be written
+     */
+    public void appendTo(Appendable out) throws IOException {
         //the movie information specified in the description.
-        String movieInformation = "ID: " + getId() + (isMovieAvailable() ? "" : " is rented");
+        out.append("ID: ");
+        Appendables.append(out, movieId);
+
+        if(!isMovieAvailable()) {
+            out.append(" is rented");
+        }
+
+        Appendables.appendLine(out);
 
-        //prints the new information and the movie information
-        return String.format("%s%n%s", movieInformation, super.toString());
+        //the new information is followed by the movie information
+        movie.appendTo(out);
     }
 }
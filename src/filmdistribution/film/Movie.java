@@ -32,21 +32,27 @@
 package filmdistribution.film;
 
 import filmdistribution.person.Human;
+import filmdistribution.util.Appendables;
+
+import java.io.IOException;
 
 /**
  * This is the basic representation of a movie. A movie has some information about the title, publishingYear, genre,
  * the rated age information when it is allowed to watch the movie (FSK), a director and the tree main actors.
  *
+ * A movie can not be changed, so it is shared by all copies (distribution movies) of the movie. Two movies are equal
+ * if all their information is equal, the humans are compared by their names.
+ *
  * @author Sascha Lutzenberger
  * @version 1.0 - 26 Januar 2018
  */
 public class Movie {
     //constants for the FSK values
-    public final int FSK_0 = 0;
-    public final int FSK_6 = 6;
-    public final int FSK_12 = 12;
-    public final int FSK_16 = 16;
-    public final int FSK_18 = 18;
+    public static final int FSK_0 = 0;
+    public static final int FSK_6 = 6;
+    public static final int FSK_12 = 12;
+    public static final int FSK_16 = 16;
+    public static final int FSK_18 = 18;
 
     //final attributes of the movie
     private final String title;
@@ -75,7 +81,8 @@ public class Movie {
         this.genre = genre;
         this.fsk = fsk;
         this.director = director;
-        this.actors = actors;
+        //the movie is shared and used as a key, so the caller must not be able to change the actors afterwards
+        this.actors = actors.clone();
     }
 
     /**
@@ -124,12 +131,56 @@ public class Movie {
     }
 
     /**
-     * This method returns an array that contains the actors of the movie.
+     * This method returns an array that contains the actors of the movie. The array is a copy, changing it does not
+     * change the movie.
      *
      * @return array with the actors
      */
     public Human[] getActors() {
-        return actors;
+        return actors.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+
+        if(o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Movie movie = (Movie) o;
+
+        if(publishingYear != movie.publishingYear || fsk != movie.fsk || !title.equals(movie.title)
+                || !genre.equals(movie.genre) || !sameName(director, movie.director)
+                || actors.length != movie.actors.length) {
+            return false;
+        }
+
+        for(int i = 0; i < actors.length; i++) {
+            if(!sameName(actors[i], movie.actors[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        //the humans are left out, title and year are nearly unique
+        int result = title.hashCode();
+        result = 31 * result + publishingYear;
+        result = 31 * result + genre.hashCode();
+        result = 31 * result + fsk;
+
+        return result;
+    }
+
+    //helper method to compare two humans by their names
+    private static boolean sameName(Human a, Human b) {
+        return a.getSurname().equals(b.getSurname()) && a.getLastname().equals(b.getLastname());
     }
 
     /**
@@ -139,8 +190,58 @@ public class Movie {
      */
     @Override
     public String toString() {
-        return String.format("%s (%d)%nGenre: %s%nFSK: %d%nDirector: %s%nActor: %s, %s, %s%n",
-                getTitle(), getPublishingYear(), getGenre(), getFsk(), getDirector().getName(),
-                actors[0].getName(), actors[1].getName(), actors[2].getName());
+        return appendTo(new StringBuilder(128)).toString();
+    }
+
+    /**
+     * Appends the same information as {@link #toString()} to the builder.
+     *
+     * @param builder - the builder the information is appended to
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        try {
+            appendTo((Appendable) builder);
+        } catch (IOException e) {
+            //a string builder does not throw io exceptions
+            throw new IllegalStateException(e);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Appends the same information as {@link #toString()} to the output, without creating the string first.
+     *
+     * @param out - the output the information is appended to
+     * @throws IOException if the output can not be written
+     */
+    public void appendTo(Appendable out) throws IOException {
+        out.append(title).append(" (");
+        Appendables.append(out, publishingYear);
+        out.append(')');
+        Appendables.appendLine(out);
+
+        out.append("Genre: ").append(genre);
+        Appendables.appendLine(out);
+
+        out.append("FSK: ");
+        Appendables.append(out, fsk);
+        Appendables.appendLine(out);
+
+        out.append("Director: ").append(director.getName());
+        Appendables.appendLine(out);
+
+        out.append("Actor: ");
+
+        for(int i = 0; i < actors.length; i++) {
+            if(i > 0) {
+                out.append(", ");
+            }
+
+            out.append(actors[i].getName());
+        }
+
+        Appendables.appendLine(out);
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This allocator hands out the IDs from one shared atomic counter, so every ID is exactly one higher than the ID that
+ * was handed out before.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class AtomicIdAllocator implements IdAllocator {
+    //the next free id, a long so that an overflow of the int ids can be detected
+    private final AtomicLong nextId;
+
+    /**
+     * Constructs a new allocator.
+     *
+     * @param firstId - the first ID that will be handed out
+     */
+    public AtomicIdAllocator(int firstId) {
+        this.nextId = new AtomicLong(firstId);
+    }
+
+    @Override
+    public int nextId() {
+        return reserve(1);
+    }
+
+    @Override
+    public int reserve(int count) {
+        if(count < 1) {
+            throw new IllegalArgumentException("At least one ID has to be reserved: " + count);
+        }
+
+        long first = nextId.getAndAdd(count);
+
+        if(first + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalStateException("There are no more free IDs");
+        }
+
+        return (int) first;
+    }
+
+    @Override
+    public int peekNextId() {
+        return (int) Math.min(nextId.get(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void reseed(int nextId) {
+        this.nextId.set(nextId);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.id;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This allocator reserves whole blocks of IDs from a shared allocator for every thread. The IDs of the block are then
+ * handed out by the thread without touching the shared counter again, so threads that create many movies or users
+ * (like a parallel import) do not contend on one counter.
+ *
+ * The IDs are still unique, but they are not sequential anymore when more than one thread creates movies or users.
+ * The unused IDs of a block are lost when the allocator is reseeded.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class BlockIdAllocator implements IdAllocator {
+    //the allocator the blocks are reserved from
+    private final IdAllocator source;
+    //the number of ids reserved at once
+    private final int blockSize;
+    //changed on every reseed, so that the blocks reserved before are not used anymore
+    private final AtomicInteger generation;
+    //the block of the current thread
+    private final ThreadLocal<Block> blocks;
+
+    /**
+     * Constructs a new allocator.
+     *
+     * @param source - the shared allocator the blocks are reserved from
+     * @param blockSize - the number of IDs every thread reserves at once
+     */
+    public BlockIdAllocator(IdAllocator source, int blockSize) {
+        if(blockSize < 1) {
+            throw new IllegalArgumentException("The block size has to be at least 1: " + blockSize);
+        }
+
+        this.source = source;
+        this.blockSize = blockSize;
+        this.generation = new AtomicInteger();
+        this.blocks = new ThreadLocal<Block>() {
+            @Override
+            protected Block initialValue() {
+                return new Block();
+            }
+        };
+    }
+
+    @Override
+    public int nextId() {
+        Block block = blocks.get();
+        int currentGeneration = generation.get();
+
+        if(block.next == block.end || block.generation != currentGeneration) {
+            //the block is used up or outdated, reserve a new one
+            block.next = source.reserve(blockSize);
+            block.end = block.next + blockSize;
+            block.generation = currentGeneration;
+        }
+
+        return block.next++;
+    }
+
+    @Override
+    public int reserve(int count) {
+        //ranges are always reserved directly, so they follow each other
+        return source.reserve(count);
+    }
+
+    @Override
+    public int peekNextId() {
+        return source.peekNextId();
+    }
+
+    @Override
+    public void reseed(int nextId) {
+        source.reseed(nextId);
+        generation.incrementAndGet();
+    }
+
+    //the range of ids reserved by one thread
+    private static class Block {
+        private int next;
+        private int end;
+        private int generation;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.id;
+
+/**
+ * An IdAllocator hands out the unique IDs of the movies and users. The implementations have to be thread safe, so
+ * that movies and users can be created by many threads at the same time.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.id.AtomicIdAllocator
+ * @see filmdistribution.id.BlockIdAllocator
+ */
+public interface IdAllocator {
+    /**
+     * This method returns a new unique ID.
+     *
+     * @return the new ID
+     */
+    int nextId();
+
+    /**
+     * This method reserves a range of IDs that directly follow each other. The IDs from the returned ID up to
+     * (returned ID + count - 1) can be used by the caller and will never be returned by this allocator again.
+     *
+     * @param count - the number of IDs that should be reserved
+     * @return the first ID of the reserved range
+     */
+    int reserve(int count);
+
+    /**
+     * This method returns the ID that will be handed out next. This is the value that has to be persisted, so that
+     * the allocator can be reseeded after a restart.
+     *
+     * @return the next ID
+     */
+    int peekNextId();
+
+    /**
+     * This method sets the ID that will be handed out next, for example to the value that was persisted before the
+     * restart. The value must not be lower than any ID that is still in use.
+     *
+     * @param nextId - the next ID
+     */
+    void reseed(int nextId);
+}
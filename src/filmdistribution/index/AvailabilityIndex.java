@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+import filmdistribution.util.AtomicBitSet;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This index knows which movies are available at the moment. It is updated every time a movie is rented or becomes
+ * available again, so the available movies can be listed without checking the rented ones, and they can be counted
+ * without checking any movie.
+ *
+ * The index can be updated and read by many threads at the same time.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class AvailabilityIndex {
+    //the ids of the available movies
+    private final AtomicBitSet available;
+    //the number of available movies
+    private final AtomicInteger count;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public AvailabilityIndex() {
+        this.available = new AtomicBitSet();
+        this.count = new AtomicInteger();
+    }
+
+    /**
+     * This method changes the availability of a movie in the index.
+     *
+     * @param movieId - the id of the movie
+     * @param isAvailable - true if the movie is available now
+     */
+    public void setAvailable(int movieId, boolean isAvailable) {
+        //only count the changes, so the counter is right even if the same value is set twice
+        if(available.set(movieId, isAvailable)) {
+            count.addAndGet(isAvailable ? 1 : -1);
+        }
+    }
+
+    /**
+     * This method checks if a movie is available.
+     *
+     * @param movieId - the id of the movie
+     * @return true if the movie is available - false if not
+     */
+    public boolean isAvailable(int movieId) {
+        return available.get(movieId);
+    }
+
+    /**
+     * This method returns the id of the next available movie, starting at the id fromId.
+     *
+     * @param fromId - the first id that is checked
+     * @return the id of the next available movie or -1 if there is none
+     */
+    public int nextAvailable(int fromId) {
+        return available.nextSetBit(fromId);
+    }
+
+    /**
+     * This method returns the number of available movies.
+     *
+     * @return the number of available movies
+     */
+    public int count() {
+        return count.get();
+    }
+
+    /**
+     * This method returns a copy of the ids of the available movies.
+     *
+     * @return the ids of the available movies
+     */
+    public BitSet toBitSet() {
+        return available.toBitSet();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+import java.util.Arrays;
+
+/**
+ * This index stores the entities in an array where the position in the array is the ID of the entity. This is the
+ * fastest index possible for the IDs created by the database, because they are handed out sequentially starting
+ * with 1, so the array has (nearly) no holes.
+ *
+ * If the IDs are very sparse the array wastes a lot of memory, for that case the {@link IntHashIndex} should be used.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @param <T> - the type of the entities stored in the index
+ */
+public class DenseIdIndex<T> implements IdIndex<T> {
+    //the default capacity of an empty index
+    private static final int DEFAULT_CAPACITY = 16;
+
+    //the entities, the position is the ID
+    private Object[] values;
+    //the number of entities stored
+    private int size;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public DenseIdIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty index that can store the IDs up to initialCapacity - 1 without growing.
+     *
+     * @param initialCapacity - the initial capacity of the index
+     */
+    public DenseIdIndex(int initialCapacity) {
+        this.values = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    @Override
+    public void put(int id, T value) {
+        if(id < 0) {
+            throw new IllegalArgumentException("The dense index only supports positive IDs: " + id);
+        }
+
+        if(value == null) {
+            throw new NullPointerException("The index can not store null values");
+        }
+
+        if(id >= values.length) {
+            //grow at least by the factor 1.5 so that sequential inserts are amortized O(1)
+            int newCapacity = Math.max(id + 1, values.length + (values.length >> 1));
+            values = Arrays.copyOf(values, newCapacity);
+        }
+
+        if(values[id] == null) {
+            size++;
+        }
+
+        values[id] = value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        //no exception for unknown ids, just like the search in a list
+        if(id < 0 || id >= values.length) {
+            return null;
+        }
+
+        return (T) values[id];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+import filmdistribution.film.Movie;
+import filmdistribution.util.AtomicBitSet;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * This index puts the movies into buckets by their FSK age rating. Every bucket knows all its movies and the movies
+ * that are available at the moment, so a search for an age range only has to look at the buckets in the range.
+ *
+ * There is a bucket for every FSK value of the {@link Movie} constants, buckets for other values are created when a
+ * movie with such a value is added.
+ *
+ * The availability can be changed by many threads at the same time, adding movies has to be done by one thread.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class FskIndex {
+    //the buckets sorted by their FSK value
+    private final NavigableMap<Integer, Bucket> buckets;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public FskIndex() {
+        this.buckets = new TreeMap<>();
+
+        for(int fsk : new int[] {Movie.FSK_0, Movie.FSK_6, Movie.FSK_12, Movie.FSK_16, Movie.FSK_18}) {
+            buckets.put(fsk, new Bucket());
+        }
+    }
+
+    /**
+     * This method adds a movie to the index.
+     *
+     * @param movieId - the id of the movie
+     * @param fsk - the FSK age rating of the movie
+     * @param available - true if the movie is available
+     */
+    public void add(int movieId, int fsk, boolean available) {
+        Bucket bucket = buckets.get(fsk);
+
+        if(bucket == null) {
+            bucket = new Bucket();
+            buckets.put(fsk, bucket);
+        }
+
+        bucket.movies.set(movieId);
+        bucket.available.set(movieId, available);
+    }
+
+    /**
+     * This method changes the availability of a movie in the index.
+     *
+     * @param movieId - the id of the movie
+     * @param fsk - the FSK age rating of the movie
+     * @param available - true if the movie is available now
+     */
+    public void setAvailable(int movieId, int fsk, boolean available) {
+        Bucket bucket = buckets.get(fsk);
+
+        if(bucket != null) {
+            bucket.available.set(movieId, available);
+        }
+    }
+
+    /**
+     * This method searches all movies with an FSK age rating in the range.
+     *
+     * @param lowerBound - the lowest FSK age rating
+     * @param upperBound - the highest FSK age rating
+     * @return the ids of the movies
+     */
+    public BitSet search(int lowerBound, int upperBound) {
+        BitSet result = new BitSet();
+
+        if(lowerBound <= upperBound) {
+            for(Bucket bucket : buckets.subMap(lowerBound, true, upperBound, true).values()) {
+                result.or(bucket.movies);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * This method counts all movies with an FSK age rating in the range without creating a result.
+     *
+     * @param lowerBound - the lowest FSK age rating
+     * @param upperBound - the highest FSK age rating
+     * @return the number of movies
+     */
+    public int count(int lowerBound, int upperBound) {
+        int count = 0;
+
+        if(lowerBound <= upperBound) {
+            for(Bucket bucket : buckets.subMap(lowerBound, true, upperBound, true).values()) {
+                count += bucket.movies.cardinality();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * This method searches all available movies that can be watched at the age, so only the buckets up to the age
+     * are checked.
+     *
+     * @param age - the age of the user
+     * @return the ids of the movies
+     */
+    public BitSet searchAvailable(int age) {
+        Collection<Bucket> allowed = buckets.headMap(age, true).values();
+        //the sets can grow while they are merged (a copy becomes available in a new page), so the word count of every
+        //set is read once, bits in words added later are changes after the search started
+        int[] wordCounts = new int[allowed.size()];
+        int words = 0;
+        int number = 0;
+
+        for(Bucket bucket : allowed) {
+            wordCounts[number] = bucket.available.wordCount();
+            words = Math.max(words, wordCounts[number]);
+            number++;
+        }
+
+        //merge the words of the buckets, so the result is a copy of the available bits at that moment
+        long[] result = new long[words];
+        number = 0;
+
+        for(Bucket bucket : allowed) {
+            for(int i = 0; i < wordCounts[number]; i++) {
+                result[i] |= bucket.available.word(i);
+            }
+
+            number++;
+        }
+
+        return BitSet.valueOf(result);
+    }
+
+    //the movies of one FSK value
+    private static class Bucket {
+        private final BitSet movies = new BitSet();
+        private final AtomicBitSet available = new AtomicBitSet();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * This index stores a bitmap of the title ids for every genre. The genre of a movie is a comma separated list like
+ * "Comedy, Drama, Romance", every genre in the list is normalised (trimmed and compared in lower case) and gets a
+ * number, so a genre is stored only once. The whole genre text of the movies is stored in the same way.
+ *
+ * {@link #search(String)} searches the whole genre text, exactly like the search in the genre text did before.
+ * {@link #searchExpression(String)} supports combinations like "Crime AND Drama" or "Crime OR Comedy", AND binds
+ * stronger than OR and a genre in the expression matches every single genre that contains it.
+ *
+ * The movies are stored by their title id, so a title is indexed only once and not once per copy.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class GenreIndex {
+    //the operators of a genre search
+    private static final Pattern OR = Pattern.compile("\\s+OR\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern AND = Pattern.compile("\\s+AND\\s+|,", Pattern.CASE_INSENSITIVE);
+
+    //the genres in lower case, the position is the number of the genre
+    private final List<String> genres;
+    //the title ids of the movies of every genre, same position as the genre
+    private final List<BitSet> titleIds;
+    //the number of every genre
+    private final Map<String, Integer> genreNumbers;
+    //the whole genre texts in lower case and the title ids of their movies, the same for the texts
+    private final List<String> texts;
+    private final List<BitSet> textTitleIds;
+    private final Map<String, Integer> textNumbers;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public GenreIndex() {
+        this.genres = new ArrayList<>();
+        this.titleIds = new ArrayList<>();
+        this.genreNumbers = new HashMap<>();
+        this.texts = new ArrayList<>();
+        this.textTitleIds = new ArrayList<>();
+        this.textNumbers = new HashMap<>();
+    }
+
+    /**
+     * This method adds a movie to the index.
+     *
+     * @param titleId - the id of the title
+     * @param genre - the comma separated genres of the movie
+     */
+    public void add(int titleId, String genre) {
+        textTitleIds.get(number(genre.toLowerCase(), texts, textTitleIds, textNumbers)).set(titleId);
+
+        int start = 0;
+
+        while(start <= genre.length()) {
+            int end = genre.indexOf(',', start);
+
+            if(end < 0) {
+                end = genre.length();
+            }
+
+            String name = genre.substring(start, end).trim();
+
+            if(!name.isEmpty()) {
+                titleIds.get(number(name.toLowerCase(), genres, titleIds, genreNumbers)).set(titleId);
+            }
+
+            start = end + 1;
+        }
+    }
+
+    /**
+     * This method searches the movies whose genre text contains the search text, e.g. "Drama, Romance" finds
+     * "Comedy, Drama, Romance" and an empty search finds all movies. Upper and lower case are ignored.
+     *
+     * @param search - the search text
+     * @return the title ids of the movies
+     */
+    public BitSet search(String search) {
+        return searchContaining(search.toLowerCase(), texts, textTitleIds);
+    }
+
+    /**
+     * This method searches the movies of a combination of genres. Upper and lower case are ignored.
+     *
+     * @param search - a genre or a combination of genres with AND, OR and commas (AND), e.g. "Crime AND Drama"
+     * @return the title ids of the movies
+     */
+    public BitSet searchExpression(String search) {
+        BitSet result = new BitSet();
+
+        for(String alternative : OR.split(search.trim())) {
+            result.or(searchAll(alternative));
+        }
+
+        return result;
+    }
+
+    //helper method that returns the movies that have all genres of the search
+    private BitSet searchAll(String search) {
+        BitSet result = null;
+
+        for(String genre : AND.split(search)) {
+            String name = genre.trim().toLowerCase();
+
+            if(name.isEmpty()) {
+                continue;
+            }
+
+            BitSet matches = searchContaining(name, genres, titleIds);
+
+            if(result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+        }
+
+        return result == null ? new BitSet() : result;
+    }
+
+    //helper method that returns the movies of every genre or genre text that contains the search
+    private static BitSet searchContaining(String search, List<String> names, List<BitSet> ids) {
+        BitSet result = new BitSet();
+
+        for(int number = 0; number < names.size(); number++) {
+            if(names.get(number).contains(search)) {
+                result.or(ids.get(number));
+            }
+        }
+
+        return result;
+    }
+
+    //helper method that returns the number of the genre or genre text, it is added if it is not in the index yet
+    private static int number(String name, List<String> names, List<BitSet> ids, Map<String, Integer> numbers) {
+        Integer number = numbers.get(name);
+
+        if(number != null) {
+            return number;
+        }
+
+        int newNumber = names.size();
+        names.add(name);
+        ids.add(new BitSet());
+        numbers.put(name, newNumber);
+
+        return newNumber;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+/**
+ * This is a primary key index that maps the unique ID of an entity (a movie or an user) directly to the entity.
+ *
+ * The keys are plain ints, so no implementation is allowed to box the keys for a lookup.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @param <T> - the type of the entities stored in the index
+ */
+public interface IdIndex<T> {
+    /**
+     * This method stores an entity under the given ID. An entity that was stored under the same ID before is
+     * replaced.
+     *
+     * @param id - the unique ID of the entity
+     * @param value - the entity, must not be null
+     */
+    void put(int id, T value);
+
+    /**
+     * This method returns the entity that is stored under the given ID.
+     *
+     * @param id - the unique ID of the entity
+     * @return the entity or null if there is no entity with the ID
+     */
+    T get(int id);
+
+    /**
+     * This method returns the number of entities stored in the index.
+     *
+     * @return number of entities
+     */
+    int size();
+}
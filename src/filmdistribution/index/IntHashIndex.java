@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+/**
+ * This index is a hash table with open addressing that stores the keys in a primitive int array, so that no key has
+ * to be boxed. It should be used when the IDs are not handed out sequentially, otherwise the {@link DenseIdIndex} is
+ * faster and smaller.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @param <T> - the type of the entities stored in the index
+ */
+public class IntHashIndex<T> implements IdIndex<T> {
+    //the default capacity of an empty index (must be a power of two)
+    private static final int DEFAULT_CAPACITY = 16;
+
+    //the keys and the values, a slot is used if the value is not null
+    private int[] keys;
+    private Object[] values;
+    //the number of entities stored
+    private int size;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public IntHashIndex() {
+        this.keys = new int[DEFAULT_CAPACITY];
+        this.values = new Object[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public void put(int id, T value) {
+        if(value == null) {
+            throw new NullPointerException("The index can not store null values");
+        }
+
+        //keep the load factor below 0.5 so that the probe sequences stay short
+        if((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int slot = findSlot(keys, values, id);
+
+        if(values[slot] == null) {
+            keys[slot] = id;
+            size++;
+        }
+
+        values[slot] = value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        int slot = findSlot(keys, values, id);
+
+        return (T) values[slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //helper method to rehash all entries into bigger arrays
+    private void resize(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        keys = new int[newCapacity];
+        values = new Object[newCapacity];
+
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldValues[i] != null) {
+                int slot = findSlot(keys, values, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    //helper method that returns the slot of the key or the free slot where the key has to be inserted
+    private static int findSlot(int[] keys, Object[] values, int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        //linear probing, there is always a free slot because of the load factor
+        while(values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    //helper method to spread sequential ids over the whole table
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+import filmdistribution.person.Human;
+import filmdistribution.util.IntList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is an inverted index from the names of the directors and actors to the movies they are part of. The movies are
+ * stored by their title id, so every human is indexed only once per title and not once per copy.
+ *
+ * The humans are stored by their person id (see {@link filmdistribution.person.PersonRegistry}), the name of every
+ * person is stored only once in lower case. The names are found with an index of their trigrams (every part of three
+ * characters), so a search has to check only the names that contain the rarest trigram of the search text instead of
+ * every human of every movie. The matches are exactly the same as with
+ * name.toLowerCase().contains(search.toLowerCase()).
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class NameIndex {
+    //the length of the parts of the names that are indexed
+    private static final int GRAM_LENGTH = 3;
+
+    //the lower case names, the position is the person id, null if the person is not in the index
+    private final List<String> names;
+    //the title ids of every person, same position as the name
+    private final List<IntList> titleIds;
+    //the person ids of all names that contain the trigram
+    private final Map<String, IntList> trigrams;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public NameIndex() {
+        this.names = new ArrayList<>();
+        this.titleIds = new ArrayList<>();
+        this.trigrams = new HashMap<>();
+    }
+
+    /**
+     * This method adds a director or an actor of a movie to the index.
+     *
+     * @param titleId - the title id of the movie (see TitleCatalogue)
+     * @param personId - the person id of the human
+     * @param human - the director or the actor
+     */
+    public void add(int titleId, int personId, Human human) {
+        if(personId >= names.size() || names.get(personId) == null) {
+            addPerson(personId, human.getLowerCaseName());
+        }
+
+        IntList titles = titleIds.get(personId);
+
+        //the same human can be director and actor of a movie
+        if(titles.isEmpty() || titles.last() != titleId) {
+            titles.add(titleId);
+        }
+    }
+
+    /**
+     * This method searches all movies that have a director or actor whose name contains the search text. Upper and
+     * lower case are ignored.
+     *
+     * @param name - the search text
+     * @return the title ids of the movies
+     */
+    public BitSet search(String name) {
+        String search = name.toLowerCase();
+        BitSet result = new BitSet();
+
+        if(search.length() < GRAM_LENGTH) {
+            //too short for the trigrams, check every person
+            for(int personId = 0; personId < names.size(); personId++) {
+                addIfMatches(personId, search, result);
+            }
+        } else {
+            IntList candidates = rarestTrigram(search);
+
+            if(candidates != null) {
+                for(int i = 0; i < candidates.size(); i++) {
+                    addIfMatches(candidates.get(i), search, result);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * This method searches all movies of one person, the person is compared by the id and not by the name.
+     *
+     * @param personId - the person id of the human
+     * @return the title ids of the movies
+     */
+    public BitSet search(int personId) {
+        BitSet result = new BitSet();
+
+        if(personId >= 0 && personId < titleIds.size()) {
+            addTitles(personId, result);
+        }
+
+        return result;
+    }
+
+    //helper method that adds a new person and the trigrams of the name
+    private void addPerson(int personId, String name) {
+        while(names.size() <= personId) {
+            names.add(null);
+            titleIds.add(null);
+        }
+
+        names.set(personId, name);
+        titleIds.set(personId, new IntList(1));
+
+        for(int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            String trigram = name.substring(i, i + GRAM_LENGTH);
+            IntList ids = trigrams.get(trigram);
+
+            if(ids == null) {
+                ids = new IntList();
+                trigrams.put(trigram, ids);
+            }
+
+            //a trigram can be more than once in a name
+            if(ids.isEmpty() || ids.last() != personId) {
+                ids.add(personId);
+            }
+        }
+    }
+
+    //helper method that returns the persons with the rarest trigram of the search, null if a trigram is unknown
+    private IntList rarestTrigram(String search) {
+        IntList rarest = null;
+
+        for(int i = 0; i + GRAM_LENGTH <= search.length(); i++) {
+            IntList ids = trigrams.get(search.substring(i, i + GRAM_LENGTH));
+
+            if(ids == null) {
+                //no name contains this part of the search
+                return null;
+            }
+
+            if(rarest == null || ids.size() < rarest.size()) {
+                rarest = ids;
+            }
+        }
+
+        return rarest;
+    }
+
+    //helper method that adds the movies of the person to the result if the name contains the search
+    private void addIfMatches(int personId, String search, BitSet result) {
+        String name = names.get(personId);
+
+        if(name != null && name.contains(search)) {
+            addTitles(personId, result);
+        }
+    }
+
+    //helper method that adds the movies of the person to the result
+    private void addTitles(int personId, BitSet result) {
+        IntList titles = titleIds.get(personId);
+
+        if(titles != null) {
+            for(int i = 0; i < titles.size(); i++) {
+                result.set(titles.get(i));
+            }
+        }
+    }
+}
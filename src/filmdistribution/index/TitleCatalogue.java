@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.index;
+
+import filmdistribution.film.Movie;
+import filmdistribution.util.IntList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This catalogue groups the copies (distribution movies) by their title. Every distinct movie gets a title id and
+ * the catalogue knows the ids of all copies of the title, so a search can be done once per title and the result is
+ * expanded to the copies afterwards.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class TitleCatalogue {
+    //the distinct movies, the position is the title id
+    private final List<Movie> titles;
+    //the ids of the copies of every title, same position as the title
+    private final List<IntList> copies;
+    //the title id of every movie
+    private final Map<Movie, Integer> titleIds;
+
+    /**
+     * Constructs a new empty catalogue.
+     */
+    public TitleCatalogue() {
+        this.titles = new ArrayList<>();
+        this.copies = new ArrayList<>();
+        this.titleIds = new HashMap<>();
+    }
+
+    /**
+     * This method returns the title id of the movie.
+     *
+     * @param movie - the movie
+     * @return the title id or -1 if the movie is not in the catalogue
+     */
+    public int getTitleId(Movie movie) {
+        Integer titleId = titleIds.get(movie);
+
+        return titleId == null ? -1 : titleId;
+    }
+
+    /**
+     * This method returns the movie of the title.
+     *
+     * @param titleId - the title id
+     * @return the movie that is shared by all copies of the title
+     */
+    public Movie getTitle(int titleId) {
+        return titles.get(titleId);
+    }
+
+    /**
+     * This method adds a new title to the catalogue.
+     *
+     * @param movie - the movie of the title, must not be in the catalogue yet
+     * @return the title id of the movie
+     */
+    public int addTitle(Movie movie) {
+        int titleId = titles.size();
+
+        titles.add(movie);
+        copies.add(new IntList(1));
+        titleIds.put(movie, titleId);
+
+        return titleId;
+    }
+
+    /**
+     * This method adds a copy of a title.
+     *
+     * @param titleId - the title id
+     * @param copyId - the id of the copy
+     */
+    public void addCopy(int titleId, int copyId) {
+        copies.get(titleId).add(copyId);
+    }
+
+    /**
+     * This method returns the number of distinct titles.
+     *
+     * @return number of titles
+     */
+    public int size() {
+        return titles.size();
+    }
+
+    /**
+     * This method counts the copies of the titles without expanding them.
+     *
+     * @param titleIds - the ids of the titles
+     * @return the number of copies of the titles
+     */
+    public int countCopies(BitSet titleIds) {
+        int count = 0;
+
+        for(int titleId = titleIds.nextSetBit(0); titleId >= 0; titleId = titleIds.nextSetBit(titleId + 1)) {
+            count += copies.get(titleId).size();
+        }
+
+        return count;
+    }
+
+    /**
+     * This method expands titles to their copies.
+     *
+     * @param titleIds - the ids of the titles
+     * @return the ids of all copies of the titles
+     */
+    public BitSet copiesOf(BitSet titleIds) {
+        BitSet result = new BitSet();
+
+        for(int titleId = titleIds.nextSetBit(0); titleId >= 0; titleId = titleIds.nextSetBit(titleId + 1)) {
+            IntList copyIds = copies.get(titleId);
+
+            for(int i = 0; i < copyIds.size(); i++) {
+                result.set(copyIds.get(i));
+            }
+        }
+
+        return result;
+    }
+}
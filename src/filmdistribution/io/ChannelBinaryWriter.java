@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * This writer writes binary data (bytes, varints and length-prefixed strings) into a large direct buffer and writes the
+ * buffer to a file channel every time it is full. A CRC32 checksum of all written bytes is calculated on the way, so
+ * it can be stored at the end of the file.
+ *
+ * Varints store 7 bits per byte, the highest bit is set if another byte follows. Small numbers like counts, years and
+ * FSK ratings only need one or two bytes.
+ *
+ * The writer is not thread safe.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.io.MappedBinaryReader
+ */
+public class ChannelBinaryWriter implements Closeable {
+    //the default size of the buffer (1 MiB)
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    //the maximum number of bytes of a varint
+    private static final int MAX_VARINT_BYTES = 5;
+    //the maximum number of bytes of a varlong
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    //the channel of the file and the buffer
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    //the checksum of all bytes that were written to the channel
+    private final CRC32 checksum;
+    //the number of bytes written to the channel
+    private long bytesWritten;
+
+    /**
+     * Constructs a new writer with the default buffer size, an existing file is overwritten.
+     *
+     * @param file - the file that should be written
+     * @throws IOException if the file can not be opened
+     */
+    public ChannelBinaryWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new writer, an existing file is overwritten.
+     *
+     * @param file - the file that should be written
+     * @param bufferSize - the size of the buffer
+     * @throws IOException if the file can not be opened
+     */
+    public ChannelBinaryWriter(Path file, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+        this.checksum = new CRC32();
+    }
+
+    /**
+     * This method writes one byte.
+     *
+     * @param value - the byte, only the lowest 8 bits are written
+     * @throws IOException if the file can not be written
+     */
+    public void writeByte(int value) throws IOException {
+        if(!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+
+        buffer.put((byte) value);
+    }
+
+    /**
+     * This method writes an int with 4 bytes (big endian), e.g. for magic numbers and checksums.
+     *
+     * @param value - the int
+     * @throws IOException if the file can not be written
+     */
+    public void writeInt(int value) throws IOException {
+        if(buffer.remaining() < 4) {
+            flushBuffer();
+        }
+
+        buffer.putInt(value);
+    }
+
+    /**
+     * This method writes a non negative int as varint.
+     *
+     * @param value - the int, negative values need 5 bytes
+     * @throws IOException if the file can not be written
+     */
+    public void writeVarInt(int value) throws IOException {
+        if(buffer.remaining() < MAX_VARINT_BYTES) {
+            flushBuffer();
+        }
+
+        while((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    /**
+     * This method writes a non negative long as varint, e.g. a sequence number.
+     *
+     * @param value - the long, negative values need 10 bytes
+     * @throws IOException if the file can not be written
+     */
+    public void writeVarLong(long value) throws IOException {
+        if(buffer.remaining() < MAX_VARLONG_BYTES) {
+            flushBuffer();
+        }
+
+        while((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    /**
+     * This method writes an int that can be negative as zigzag encoded varint, so small negative numbers (like the
+     * difference of two IDs) also need only a few bytes.
+     *
+     * @param value - the int
+     * @throws IOException if the file can not be written
+     */
+    public void writeSignedVarInt(int value) throws IOException {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * This method writes the string as varint length followed by the UTF-8 bytes.
+     *
+     * @param value - the string
+     * @throws IOException if the file can not be written
+     */
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        writeVarInt(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * This method writes the bytes.
+     *
+     * @param bytes - the bytes
+     * @throws IOException if the file can not be written
+     */
+    public void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+
+        while(offset < bytes.length) {
+            if(!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * This method returns the CRC32 checksum of all bytes written so far.
+     *
+     * @return the checksum
+     * @throws IOException if the file can not be written
+     */
+    public int getChecksum() throws IOException {
+        //the checksum is calculated while the buffer is flushed
+        flushBuffer();
+
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * This method returns the number of bytes written so far, including the bytes still in the buffer.
+     *
+     * @return number of bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    /**
+     * This method writes the buffer to the file and forces the file to the storage device.
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void sync() throws IOException {
+        flushBuffer();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    //helper method that writes the content of the buffer to the channel
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+
+        while(buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
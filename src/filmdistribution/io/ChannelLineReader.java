@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This reader splits a file into lines. The file is read in big blocks into one buffer that is reused for the whole
+ * file, the lines are passed to a {@link LineHandler} as ranges of that buffer, so no object is created per line.
+ *
+ * Lines are separated by '\n', a '\r' before the '\n' is removed. Empty lines are skipped.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.io.LineReader
+ */
+public class ChannelLineReader implements LineReader {
+    //the default size of the read buffer (1 MiB)
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    //the channel of the file
+    private final FileChannel channel;
+    //the reused read buffer, it grows if a line is longer than the buffer
+    private ByteBuffer buffer;
+
+    /**
+     * Constructs a new reader with the default buffer size.
+     *
+     * @param channel - the channel of the file that should be read
+     */
+    public ChannelLineReader(FileChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new reader.
+     *
+     * @param channel - the channel of the file that should be read
+     * @param bufferSize - the initial size of the read buffer
+     */
+    public ChannelLineReader(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, 64));
+    }
+
+    @Override
+    public long readLines(LineHandler handler) throws IOException {
+        return readLines(0, channel.size(), 1, handler);
+    }
+
+    @Override
+    public long readLines(long from, long to, long firstLineNumber, LineHandler handler) throws IOException {
+        long position = from;
+        long lineNumber = firstLineNumber;
+        //bytes in the buffer and how many of them were already searched for a line separator
+        int filled = 0;
+        int scanned = 0;
+
+        while(true) {
+            //fill the free space of the buffer
+            boolean endOfInput = position >= to;
+
+            if(!endOfInput) {
+                buffer.limit((int) Math.min(buffer.capacity(), filled + (to - position)));
+                buffer.position(filled);
+
+                int read = channel.read(buffer, position);
+
+                if(read < 0) {
+                    //the file got shorter than expected
+                    endOfInput = true;
+                } else {
+                    position += read;
+                    filled += read;
+                }
+            }
+
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+
+            for(int i = scanned; i < filled; i++) {
+                if(bytes[i] == '\n') {
+                    lineNumber = handleLine(handler, lineStart, i, lineNumber);
+                    lineStart = i + 1;
+                }
+            }
+
+            if(endOfInput || position >= to) {
+                //the last line does not need a line separator
+                if(lineStart < filled) {
+                    lineNumber = handleLine(handler, lineStart, filled, lineNumber);
+                }
+
+                break;
+            }
+
+            //keep the beginning of the incomplete line for the next read
+            int remaining = filled - lineStart;
+
+            if(lineStart == 0 && remaining == buffer.capacity()) {
+                //the line does not fit into the buffer
+                ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+                bigger.put(bytes, 0, remaining);
+                buffer = bigger;
+            } else if(lineStart > 0) {
+                System.arraycopy(bytes, lineStart, bytes, 0, remaining);
+            }
+
+            filled = remaining;
+            scanned = remaining;
+        }
+
+        return lineNumber - firstLineNumber;
+    }
+
+    //helper method that removes the '\r' and skips empty lines, returns the next line number
+    private long handleLine(LineHandler handler, int start, int end, long lineNumber) throws IOException {
+        if(end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+
+        if(end > start) {
+            handler.handleLine(buffer, start, end, lineNumber);
+        }
+
+        return lineNumber + 1;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import filmdistribution.util.NumberAppendable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This writer encodes text as UTF-8 directly into a large direct buffer and writes the buffer to a file channel
+ * every time it is full. The records are appended one after the other (see the appendTo methods of the movies and
+ * users), so the whole output is never stored in memory and no temporary strings are created.
+ *
+ * The writer is not thread safe.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class ChannelTextWriter implements NumberAppendable, Closeable {
+    //the default size of the buffer (1 MiB)
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    //the maximum number of bytes a char needs in UTF-8 (a surrogate pair needs 4 bytes for 2 chars)
+    private static final int MAX_BYTES_PER_CHAR = 4;
+
+    //the channel of the file and the buffer
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    //the first half of a surrogate pair, 0 if there is none
+    private char highSurrogate;
+    //the number of bytes written to the channel
+    private long bytesWritten;
+
+    /**
+     * Constructs a new writer with the default buffer size, an existing file is overwritten.
+     *
+     * @param file - the file that should be written
+     * @throws IOException if the file can not be opened
+     */
+    public ChannelTextWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new writer, an existing file is overwritten.
+     *
+     * @param file - the file that should be written
+     * @param bufferSize - the size of the buffer
+     * @throws IOException if the file can not be opened
+     */
+    public ChannelTextWriter(Path file, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+    }
+
+    @Override
+    public ChannelTextWriter append(CharSequence text) throws IOException {
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public ChannelTextWriter append(CharSequence text, int start, int end) throws IOException {
+        for(int i = start; i < end; i++) {
+            append(text.charAt(i));
+        }
+
+        return this;
+    }
+
+    @Override
+    public ChannelTextWriter append(char c) throws IOException {
+        if(buffer.remaining() < MAX_BYTES_PER_CHAR) {
+            flushBuffer();
+        }
+
+        if(c < 0x80 && highSurrogate == 0) {
+            //the fast path for ASCII
+            buffer.put((byte) c);
+        } else {
+            encode(c);
+        }
+
+        return this;
+    }
+
+    /**
+     * This method appends the decimal representation of the number without creating a string.
+     *
+     * @param value - the number
+     * @return this writer
+     * @throws IOException if the file can not be written
+     */
+    @Override
+    public ChannelTextWriter append(int value) throws IOException {
+        //11 bytes are enough for every int
+        if(buffer.remaining() < 11) {
+            flushBuffer();
+        }
+
+        long number = value;
+
+        if(number < 0) {
+            buffer.put((byte) '-');
+            number = -number;
+        }
+
+        long divisor = 1;
+
+        while(divisor * 10 <= number) {
+            divisor *= 10;
+        }
+
+        for(; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + number / divisor % 10));
+        }
+
+        return this;
+    }
+
+    /**
+     * This method returns the number of bytes written so far, including the bytes still in the buffer.
+     *
+     * @return number of bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    /**
+     * This method writes the buffer to the file.
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if(highSurrogate != 0) {
+                //an incomplete surrogate pair can not be encoded
+                highSurrogate = 0;
+                buffer.put((byte) '?');
+            }
+
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    //helper method that encodes a char that is not ASCII
+    private void encode(char c) {
+        if(highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+
+            if(Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                return;
+            }
+
+            //the high surrogate without a low surrogate is replaced, like the String encoder does
+            buffer.put((byte) '?');
+        }
+
+        if(c < 0x80) {
+            buffer.put((byte) c);
+        } else if(c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if(Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if(Character.isLowSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+
+    //helper method that writes the content of the buffer to the channel
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+
+        while(buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+/**
+ * This class contains the size and the duration of an export, so that the throughput can be reported.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class ExportStatistics {
+    //the number of bytes per megabyte
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    //final attributes of the statistics
+    private final long records;
+    private final long bytes;
+    private final long nanos;
+
+    /**
+     * Constructs new statistics.
+     *
+     * @param records - the number of exported records
+     * @param bytes - the number of written bytes
+     * @param nanos - the duration of the export in nanoseconds
+     */
+    public ExportStatistics(long records, long bytes, long nanos) {
+        this.records = records;
+        this.bytes = bytes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * This method returns the number of exported records.
+     *
+     * @return number of records
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * This method returns the number of written bytes.
+     *
+     * @return number of bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * This method returns the duration of the export.
+     *
+     * @return duration in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * This method returns the throughput of the export.
+     *
+     * @return throughput in megabytes (MiB) per second
+     */
+    public double getMegabytesPerSecond() {
+        return nanos == 0 ? 0 : bytes / BYTES_PER_MEGABYTE / (nanos / 1e9);
+    }
+
+    /**
+     * Returns the statistics as text.
+     *
+     * @return A string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d records, %d bytes in %.3f ms (%.1f MB/s)",
+                records, bytes, nanos / 1e6, getMegabytesPerSecond());
+    }
+}
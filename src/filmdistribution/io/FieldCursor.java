@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import filmdistribution.person.Human;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This cursor walks through the separated fields of one line in a buffer. Numbers are parsed directly from the bytes,
+ * only the text fields that are really needed are converted into strings (the input is UTF-8).
+ *
+ * A cursor is reused for all the lines of a file, so it is not thread safe.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+class FieldCursor {
+    //the line that is parsed
+    private ByteBuffer buffer;
+    private int position;
+    private int end;
+    private long lineNumber;
+    //true if the last field of the line was read
+    private boolean exhausted;
+
+    //the trimmed range of the current field
+    private int fieldStart;
+    private int fieldEnd;
+
+    //buffer for copying strings out of buffers without an accessible array
+    private byte[] scratch = new byte[256];
+
+    /**
+     * This method sets the cursor to the beginning of a new line.
+     *
+     * @param buffer - the buffer containing the line
+     * @param start - the index of the first byte of the line
+     * @param end - the index after the last byte of the line
+     * @param lineNumber - the number of the line, used for the error messages
+     */
+    void reset(ByteBuffer buffer, int start, int end, long lineNumber) {
+        this.buffer = buffer;
+        this.position = start;
+        this.end = end;
+        this.lineNumber = lineNumber;
+        this.exhausted = false;
+    }
+
+    /**
+     * This method reads the next field as a string. Leading and trailing spaces are removed.
+     *
+     * @param separator - the separator at the end of the field
+     * @param name - the name of the field for the error message
+     * @return the text of the field
+     * @throws InputFormatException if the line has no more fields or the field is empty
+     */
+    String nextString(char separator, String name) throws InputFormatException {
+        nextField(separator, name);
+
+        return string(fieldStart, fieldEnd);
+    }
+
+    /**
+     * This method reads the next field as an int. Leading and trailing spaces are ignored.
+     *
+     * @param separator - the separator at the end of the field
+     * @param name - the name of the field for the error message
+     * @return the number in the field
+     * @throws InputFormatException if the line has no more fields or the field is not a number
+     */
+    int nextInt(char separator, String name) throws InputFormatException {
+        nextField(separator, name);
+
+        int i = fieldStart;
+        boolean negative = buffer.get(i) == '-';
+
+        if(negative || buffer.get(i) == '+') {
+            i++;
+        }
+
+        if(i == fieldEnd) {
+            throw error("the " + name + " is not a number");
+        }
+
+        //accumulate negative so that Integer.MIN_VALUE can be parsed as well
+        long value = 0;
+
+        for(; i < fieldEnd; i++) {
+            int digit = buffer.get(i) - '0';
+
+            if(digit < 0 || digit > 9) {
+                throw error("the " + name + " is not a number");
+            }
+
+            value = value * 10 - digit;
+
+            if(value < Integer.MIN_VALUE) {
+                throw error("the " + name + " is too big");
+            }
+        }
+
+        if(!negative && value == Integer.MIN_VALUE) {
+            throw error("the " + name + " is too big");
+        }
+
+        return (int) (negative ? value : -value);
+    }
+
+    /**
+     * This method reads the next field as the name of a human. The first word is the surname, the rest of the field
+     * is the lastname.
+     *
+     * @param separator - the separator at the end of the field
+     * @param name - the name of the field for the error message
+     * @return the new human
+     * @throws InputFormatException if the line has no more fields or the field does not contain two names
+     */
+    Human nextHuman(char separator, String name) throws InputFormatException {
+        nextField(separator, name);
+
+        int space = fieldStart;
+
+        while(space < fieldEnd && buffer.get(space) != ' ') {
+            space++;
+        }
+
+        int lastnameStart = space;
+
+        while(lastnameStart < fieldEnd && buffer.get(lastnameStart) == ' ') {
+            lastnameStart++;
+        }
+
+        if(lastnameStart == fieldEnd) {
+            throw error("the " + name + " needs a surname and a lastname");
+        }
+
+        return new Human(string(fieldStart, space), string(lastnameStart, fieldEnd));
+    }
+
+    //helper method that finds the next field and trims it
+    private void nextField(char separator, String name) throws InputFormatException {
+        if(exhausted) {
+            throw error("the " + name + " is missing");
+        }
+
+        int separatorIndex = position;
+
+        while(separatorIndex < end && buffer.get(separatorIndex) != separator) {
+            separatorIndex++;
+        }
+
+        int start = position;
+        int stop = separatorIndex;
+
+        while(start < stop && buffer.get(start) == ' ') {
+            start++;
+        }
+
+        while(stop > start && buffer.get(stop - 1) == ' ') {
+            stop--;
+        }
+
+        if(start == stop) {
+            throw error("the " + name + " is empty");
+        }
+
+        fieldStart = start;
+        fieldEnd = stop;
+
+        if(separatorIndex == end) {
+            exhausted = true;
+        }
+
+        position = separatorIndex + 1;
+    }
+
+    //helper method that converts a part of the buffer into a string
+    private String string(int start, int stop) {
+        int length = stop - start;
+
+        if(buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+
+        if(scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+
+        for(int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(start + i);
+        }
+
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    //helper method to create an exception for the current line
+    private InputFormatException error(String message) {
+        return new InputFormatException(lineNumber, message);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.IOException;
+
+/**
+ * This exception is thrown if a line of an input file does not have the expected format. It contains the number of
+ * the line, so that the line can be found and corrected in the file.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class InputFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    //the number of the malformed line, starting with 1
+    private final long lineNumber;
+    //what is wrong with the line
+    private final String reason;
+
+    /**
+     * Constructs a new exception.
+     *
+     * @param lineNumber - the number of the malformed line, starting with 1
+     * @param reason - the description what is wrong with the line
+     */
+    public InputFormatException(long lineNumber, String reason) {
+        super("Line " + lineNumber + ": " + reason);
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+    }
+
+    /**
+     * This method returns the number of the malformed line.
+     *
+     * @return the line number, starting with 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * This method returns the description what is wrong with the line, without the line number.
+     *
+     * @return the reason why the line is malformed
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.IOException;
+
+/**
+ * A LineReader splits a file into lines and passes every line to a {@link LineHandler}. Lines are separated by '\n',
+ * a '\r' before the '\n' is removed. Empty lines are skipped, but they are counted for the line numbers.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.io.ChannelLineReader
+ * @see filmdistribution.io.MappedLineReader
+ */
+public interface LineReader {
+    /**
+     * This method reads the whole file and passes every line to the handler.
+     *
+     * @param handler - the handler that is called for every line
+     * @return the number of lines in the file
+     * @throws IOException if the file can not be read or the handler throws an exception
+     */
+    long readLines(LineHandler handler) throws IOException;
+
+    /**
+     * This method reads a part of the file and passes every line to the handler. The part has to start at the
+     * beginning of a line and has to end at the end of a line (or the end of the file).
+     *
+     * @param from - the position of the first byte that is read
+     * @param to - the position after the last byte that is read
+     * @param firstLineNumber - the line number of the first line in the part
+     * @param handler - the handler that is called for every line
+     * @return the number of lines in the part
+     * @throws IOException if the file can not be read or the handler throws an exception
+     */
+    long readLines(long from, long to, long firstLineNumber, LineHandler handler) throws IOException;
+}
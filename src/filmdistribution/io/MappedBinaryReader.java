@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * This reader maps a binary file written by {@link ChannelBinaryWriter} into memory and reads the values directly from
+ * the mapped buffer.
+ *
+ * A mapping can not be larger than 2 GB, so big files are mapped in windows one after the other. If a value does not
+ * fit into the rest of the current window, the next window starts with this value. The CRC32 checksum of all read bytes
+ * is calculated window by window.
+ *
+ * The reader is not thread safe.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.io.ChannelBinaryWriter
+ */
+public class MappedBinaryReader {
+    //the default size of a mapped window (256 MiB)
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    //the channel of the file and its size
+    private final FileChannel channel;
+    private final long size;
+    //the maximum size of a mapped window
+    private final int windowSize;
+    //the current window and its position in the file
+    private MappedByteBuffer window;
+    private long windowStart;
+    //the checksum of the read bytes, the bytes of the current window are added up to checkedPosition
+    private final CRC32 checksum;
+    private int checkedPosition;
+    //reused for decoding the strings
+    private byte[] stringBytes;
+
+    /**
+     * Constructs a new reader with the default window size.
+     *
+     * @param channel - the channel of the file that should be read
+     * @throws IOException if the file can not be mapped
+     */
+    public MappedBinaryReader(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a new reader.
+     *
+     * @param channel - the channel of the file that should be read
+     * @param windowSize - the maximum size of a mapped window, no string can be longer than this
+     * @throws IOException if the file can not be mapped
+     */
+    public MappedBinaryReader(FileChannel channel, int windowSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.windowSize = Math.max(windowSize, 64);
+        this.checksum = new CRC32();
+        this.stringBytes = new byte[256];
+
+        mapWindow(0);
+    }
+
+    /**
+     * This method reads one byte.
+     *
+     * @return the byte as value from 0 to 255
+     * @throws IOException if the file ends
+     */
+    public int readByte() throws IOException {
+        require(1);
+
+        return window.get() & 0xFF;
+    }
+
+    /**
+     * This method reads an int with 4 bytes (big endian).
+     *
+     * @return the int
+     * @throws IOException if the file ends
+     */
+    public int readInt() throws IOException {
+        require(4);
+
+        return window.getInt();
+    }
+
+    /**
+     * This method reads a varint.
+     *
+     * @return the int
+     * @throws IOException if the file ends or the varint is longer than 5 bytes
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+
+        for(int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint at byte " + getPosition());
+    }
+
+    /**
+     * This method reads a varlong.
+     *
+     * @return the long
+     * @throws IOException if the file ends or the varlong is longer than 10 bytes
+     */
+    public long readVarLong() throws IOException {
+        long value = 0;
+
+        for(int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varlong at byte " + getPosition());
+    }
+
+    /**
+     * This method reads a zigzag encoded varint.
+     *
+     * @return the int
+     * @throws IOException if the file ends or the varint is malformed
+     */
+    public int readSignedVarInt() throws IOException {
+        int value = readVarInt();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * This method reads a string written as varint length followed by the UTF-8 bytes.
+     *
+     * @return the string
+     * @throws IOException if the file ends or the length is malformed
+     */
+    public String readString() throws IOException {
+        int length = readVarInt();
+
+        if(length < 0 || length > windowSize) {
+            throw new IOException("Malformed string length " + length + " at byte " + getPosition());
+        }
+
+        require(length);
+
+        if(stringBytes.length < length) {
+            stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+        }
+
+        window.get(stringBytes, 0, length);
+
+        return new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method returns the CRC32 checksum of all bytes read so far.
+     *
+     * @return the checksum
+     */
+    public int getChecksum() {
+        updateChecksum();
+
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * This method returns the position of the next byte in the file.
+     *
+     * @return the position
+     */
+    public long getPosition() {
+        return windowStart + window.position();
+    }
+
+    /**
+     * This method returns the size of the file.
+     *
+     * @return the size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    //helper method that makes sure that the next bytes are in the current window
+    private void require(int bytes) throws IOException {
+        if(window.remaining() >= bytes) {
+            return;
+        }
+
+        long position = getPosition();
+
+        if(size - position < bytes) {
+            throw new EOFException("Unexpected end of file at byte " + position);
+        }
+
+        updateChecksum();
+        mapWindow(position);
+    }
+
+    //helper method that maps the window that starts at the position
+    private void mapWindow(long position) throws IOException {
+        int length = (int) Math.min(windowSize, size - position);
+
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        windowStart = position;
+        checkedPosition = 0;
+    }
+
+    //helper method that adds the read bytes of the current window to the checksum
+    private void updateChecksum() {
+        int position = window.position();
+
+        if(checkedPosition < position) {
+            ByteBuffer read = window.duplicate();
+            read.position(checkedPosition).limit(position);
+            checksum.update(read);
+            checkedPosition = position;
+        }
+    }
+}
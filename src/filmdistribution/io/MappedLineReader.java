@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This reader maps the file into memory and passes the lines to the {@link LineHandler} as ranges of the mapped
+ * buffer, so the data is never copied into the heap before it is parsed.
+ *
+ * A mapping can not be larger than 2 GB, so big files are mapped in windows one after the other. A window always
+ * starts at the beginning of a line, so a line is never split between two windows.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.io.LineReader
+ */
+public class MappedLineReader implements LineReader {
+    //the default size of a mapped window (256 MiB)
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    //the channel of the file
+    private final FileChannel channel;
+    //the maximum size of a mapped window
+    private final int windowSize;
+
+    /**
+     * Constructs a new reader with the default window size.
+     *
+     * @param channel - the channel of the file that should be read
+     */
+    public MappedLineReader(FileChannel channel) {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a new reader.
+     *
+     * @param channel - the channel of the file that should be read
+     * @param windowSize - the maximum size of a mapped window, no line can be longer than this
+     */
+    public MappedLineReader(FileChannel channel, int windowSize) {
+        this.channel = channel;
+        this.windowSize = Math.max(windowSize, 64);
+    }
+
+    @Override
+    public long readLines(LineHandler handler) throws IOException {
+        return readLines(0, channel.size(), 1, handler);
+    }
+
+    @Override
+    public long readLines(long from, long to, long firstLineNumber, LineHandler handler) throws IOException {
+        long windowStart = from;
+        long lineNumber = firstLineNumber;
+
+        while(windowStart < to) {
+            int length = (int) Math.min(windowSize, to - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            boolean lastWindow = windowStart + length == to;
+            int lineStart = 0;
+
+            for(int i = 0; i < length; i++) {
+                if(window.get(i) == '\n') {
+                    lineNumber = handleLine(handler, window, lineStart, i, lineNumber);
+                    lineStart = i + 1;
+                }
+            }
+
+            if(lastWindow) {
+                //the last line does not need a line separator
+                if(lineStart < length) {
+                    lineNumber = handleLine(handler, window, lineStart, length, lineNumber);
+                }
+
+                break;
+            }
+
+            if(lineStart == 0) {
+                throw new InputFormatException(lineNumber, "the line is longer than " + windowSize + " bytes");
+            }
+
+            //the next window starts with the incomplete line
+            windowStart += lineStart;
+        }
+
+        return lineNumber - firstLineNumber;
+    }
+
+    //helper method that removes the '\r' and skips empty lines, returns the next line number
+    private static long handleLine(LineHandler handler, ByteBuffer buffer, int start, int end, long lineNumber)
+            throws IOException {
+        if(end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+
+        if(end > start) {
+            handler.handleLine(buffer, start, end, lineNumber);
+        }
+
+        return lineNumber + 1;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import filmdistribution.film.Movie;
+import filmdistribution.person.Human;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This parser creates a movie out of one line of the movie input file. The line has the format:
+ *
+ * title; year; genre; fsk; director; actor, actor, actor
+ *
+ * The parser reuses its internal state for every line, so one parser can only be used by one thread.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class MovieLineParser implements LineParser<Movie> {
+    //the number of actors of a movie
+    private static final int NUMBER_OF_ACTORS = 3;
+    //the names of the actor fields for the error messages
+    private static final String[] ACTOR_FIELDS = {"first actor", "second actor", "third actor"};
+
+    //the cursor reused for all lines
+    private final FieldCursor cursor;
+
+    /**
+     * Constructs a new parser.
+     */
+    public MovieLineParser() {
+        this.cursor = new FieldCursor();
+    }
+
+    @Override
+    public Movie parse(ByteBuffer buffer, int start, int end, long lineNumber) throws InputFormatException {
+        cursor.reset(buffer, start, end, lineNumber);
+
+        String title = cursor.nextString(';', "title");
+        int year = cursor.nextInt(';', "year");
+        String genre = cursor.nextString(';', "genre");
+        int fsk = cursor.nextInt(';', "fsk");
+        Human director = cursor.nextHuman(';', "director");
+
+        //the actors are the last field of the line, they are separated by ',' and further actors are ignored
+        Human[] actors = new Human[NUMBER_OF_ACTORS];
+
+        for(int i = 0; i < NUMBER_OF_ACTORS; i++) {
+            actors[i] = cursor.nextHuman(',', ACTOR_FIELDS[i]);
+        }
+
+        return new Movie(title, year, genre, fsk, director, actors);
+    }
+}
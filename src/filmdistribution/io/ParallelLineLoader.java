@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * This loader splits an input file into chunks that start and end at line boundaries and parses the chunks at the
+ * same time on a fork join pool. The result contains the parsed objects of every chunk in the order of the file, so
+ * the caller can assign the IDs exactly like a sequential reader would do.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class ParallelLineLoader {
+    //files smaller than this are not split any further (1 MiB)
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    //the size of the buffer that is used to find the next line boundary
+    private static final int BOUNDARY_BUFFER_SIZE = 8192;
+
+    //the pool that parses the chunks
+    private final ForkJoinPool pool;
+    //the maximum number of chunks a file is split into
+    private final int maxChunks;
+
+    /**
+     * Constructs a new loader that splits a file into up to four chunks per thread of the pool, so that threads that
+     * are done early can help with the remaining chunks.
+     *
+     * @param pool - the pool that parses the chunks
+     */
+    public ParallelLineLoader(ForkJoinPool pool) {
+        this(pool, pool.getParallelism() * 4);
+    }
+
+    /**
+     * Constructs a new loader.
+     *
+     * @param pool - the pool that parses the chunks
+     * @param maxChunks - the maximum number of chunks a file is split into
+     */
+    public ParallelLineLoader(ForkJoinPool pool, int maxChunks) {
+        this.pool = pool;
+        this.maxChunks = Math.max(maxChunks, 1);
+    }
+
+    /**
+     * This method parses the whole file.
+     *
+     * @param file - the file that should be parsed
+     * @param parsers - creates a new parser for every chunk, because the parsers are not thread safe
+     * @param <T> - the type of the objects described by the lines
+     * @return the objects of every chunk, the chunks and the objects are in the order of the file
+     * @throws IOException if the file can not be read, if a line is malformed the exception has the line number
+     *                     in the whole file
+     */
+    public <T> List<List<T>> load(Path file, final Supplier<? extends LineParser<T>> parsers) throws IOException {
+        try(final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = findBoundaries(channel);
+            List<ChunkTask<T>> tasks = new ArrayList<>();
+
+            for(int i = 0; i + 1 < boundaries.length; i++) {
+                tasks.add(new ChunkTask<>(channel, boundaries[i], boundaries[i + 1], parsers.get()));
+            }
+
+            List<Future<List<T>>> futures = pool.invokeAll(tasks);
+            List<List<T>> chunks = new ArrayList<>(tasks.size());
+            //the line number of the first line of the current chunk
+            long firstLineNumber = 1;
+
+            for(int i = 0; i < tasks.size(); i++) {
+                try {
+                    chunks.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    throw toIOException(e.getCause(), firstLineNumber);
+                }
+
+                firstLineNumber += tasks.get(i).lineCount;
+            }
+
+            return chunks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The import was interrupted", e);
+        }
+    }
+
+    //helper method that splits the file into chunks, every boundary is the position after a '\n'
+    private long[] findBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int chunks = (int) Math.max(1, Math.min(maxChunks, size / MIN_CHUNK_SIZE));
+        long[] boundaries = new long[chunks + 1];
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+        int count = 1;
+
+        for(int i = 1; i < chunks; i++) {
+            long boundary = nextLineStart(channel, Math.max(size / chunks * i, boundaries[count - 1]), buffer);
+
+            //a very long line can swallow a whole chunk
+            if(boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+
+        boundaries[count++] = size;
+
+        long[] result = new long[count];
+        System.arraycopy(boundaries, 0, result, 0, count);
+
+        return result;
+    }
+
+    //helper method that finds the start of the line after the position
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while(true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+
+            if(read <= 0) {
+                return channel.size();
+            }
+
+            for(int i = 0; i < read; i++) {
+                if(buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+    }
+
+    //helper method that moves the line number of a malformed line from the chunk into the whole file
+    private static IOException toIOException(Throwable cause, long firstLineNumber) {
+        //the fork join pool may wrap the exception of the task into runtime exceptions
+        while(cause instanceof RuntimeException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if(cause instanceof InputFormatException) {
+            InputFormatException e = (InputFormatException) cause;
+            InputFormatException moved = new InputFormatException(e.getLineNumber() + firstLineNumber - 1,
+                    e.getReason());
+            moved.initCause(e);
+
+            return moved;
+        }
+
+        if(cause instanceof IOException) {
+            return (IOException) cause;
+        }
+
+        return new IOException(cause);
+    }
+
+    //the task that parses one chunk, the line numbers are counted from the start of the chunk
+    private static class ChunkTask<T> implements Callable<List<T>>, LineHandler {
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final LineParser<T> parser;
+        private final List<T> result;
+        private long lineCount;
+
+        private ChunkTask(FileChannel channel, long from, long to, LineParser<T> parser) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.parser = parser;
+            this.result = new ArrayList<>();
+        }
+
+        @Override
+        public List<T> call() throws IOException {
+            lineCount = new ChannelLineReader(channel).readLines(from, to, 1, this);
+            return result;
+        }
+
+        @Override
+        public void handleLine(ByteBuffer buffer, int start, int end, long lineNumber) throws IOException {
+            result.add(parser.parse(buffer, start, end, lineNumber));
+        }
+    }
+}
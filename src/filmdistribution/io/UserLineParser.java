@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+import filmdistribution.person.Human;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This parser creates an user record out of one line of the user input file. The line has the format:
+ *
+ * name; birthyear; type
+ *
+ * The type is not checked, the record of an user with an unknown type is returned like every other record.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class UserLineParser implements LineParser<UserRecord> {
+    //the cursor reused for all lines
+    private final FieldCursor cursor;
+
+    /**
+     * Constructs a new parser.
+     */
+    public UserLineParser() {
+        this.cursor = new FieldCursor();
+    }
+
+    @Override
+    public UserRecord parse(ByteBuffer buffer, int start, int end, long lineNumber) throws InputFormatException {
+        cursor.reset(buffer, start, end, lineNumber);
+
+        Human name = cursor.nextHuman(';', "name");
+        int birthyear = cursor.nextInt(';', "birthyear");
+        int type = cursor.nextInt(';', "user type");
+
+        //an unknown type is not a format error, the database skips such users
+        return new UserRecord(name.getSurname(), name.getLastname(), birthyear, type);
+    }
+}
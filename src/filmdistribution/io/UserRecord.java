@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.io;
+
+/**
+ * This is the information about an user read from the user input file. The user itself is created by the database,
+ * because the type of the user decides which class is used.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class UserRecord {
+    //final attributes of the record
+    private final String surname;
+    private final String lastname;
+    private final int birthyear;
+    private final int type;
+
+    /**
+     * Constructs a new record.
+     *
+     * @param surname - surname of the user
+     * @param lastname - lastname of the user
+     * @param birthyear - year of birth of the user
+     * @param type - the type of the user (User.USER_STANDARD or User.USER_PREMIUM)
+     */
+    public UserRecord(String surname, String lastname, int birthyear, int type) {
+        this.surname = surname;
+        this.lastname = lastname;
+        this.birthyear = birthyear;
+        this.type = type;
+    }
+
+    /**
+     * This method returns the surname of the user.
+     *
+     * @return surname of the user
+     */
+    public String getSurname() {
+        return surname;
+    }
+
+    /**
+     * This method returns the lastname of the user.
+     *
+     * @return lastname of the user
+     */
+    public String getLastname() {
+        return lastname;
+    }
+
+    /**
+     * This method returns the year of birth of the user.
+     *
+     * @return year of birth
+     */
+    public int getBirthyear() {
+        return birthyear;
+    }
+
+    /**
+     * This method returns the type of the user.
+     *
+     * @return User.USER_STANDARD or User.USER_PREMIUM
+     */
+    public int getType() {
+        return type;
+    }
+}
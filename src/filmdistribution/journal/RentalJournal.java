@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * This is an append-only journal of the rentals and returns. Every rental and return is written as a record with a
+ * sequence number and a CRC32 checksum, so the rentals and returns since the last snapshot can be replayed after a
+ * crash.
+ *
+ * Writing a record and waiting until it is on the storage device are two steps ({@link #append(int, int, int)} and
+ * {@link #awaitDurable(long)}), so many threads can append their records while another thread forces the file. The
+ * first waiting thread forces all records appended so far with one fsync (group commit), the other threads only wait
+ * for it. With a batch window the forcing thread waits a little before it collects the records, so even more records
+ * share one fsync at the cost of a higher latency.
+ *
+ * The records have a fixed size, a record that was only written partly or has a wrong checksum marks the end of the
+ * journal. It is removed (together with everything after it) when the journal is opened.
+ *
+ * After a snapshot is written the records it contains are removed with {@link #checkpoint(long)}. The journal file is
+ * rewritten with the newer records only and the header stores the sequence number of the snapshot, so a journal can not
+ * be replayed on top of an older snapshot.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class RentalJournal implements Closeable {
+    //the types of the records for a rental and a return
+    public static final int RECORD_RENT = 1;
+    public static final int RECORD_RETURN = 2;
+
+    //"FDJL" - the first bytes of every journal file, followed by the version and the sequence number of the checkpoint
+    private static final int MAGIC = 0x46444A4C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    //type (1 byte), sequence (8 bytes), user id, movie id and checksum (4 bytes each)
+    private static final int RECORD_SIZE = 21;
+    private static final int CHECKED_SIZE = RECORD_SIZE - 4;
+
+    //the journal file and its channel, the channel is replaced by a checkpoint while syncing is set
+    private final Path file;
+    private FileChannel channel;
+    //how long the forcing thread waits for more records
+    private final long batchWindowNanos;
+    //guards all the attributes below
+    private final Object lock;
+    //the records that are appended but not yet written, and the buffer that is written at the moment
+    private ByteBuffer pending;
+    private ByteBuffer writing;
+    private final CRC32 checksum;
+    //the sequence number of the last appended and the last durable record
+    private long lastSequence;
+    private long durableSequence;
+    //true while a thread writes and forces the file
+    private boolean syncing;
+    //the error of the last failed write, from then on the journal can not be used anymore
+    private IOException failure;
+    private boolean closed;
+
+    //use open to create a journal
+    private RentalJournal(Path file, FileChannel channel, long lastSequence, long batchWindowNanos) {
+        this.file = file;
+        this.channel = channel;
+        this.batchWindowNanos = batchWindowNanos;
+        this.lock = new Object();
+        this.pending = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        this.writing = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        this.checksum = new CRC32();
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+    }
+
+    /**
+     * This method opens the journal, the file is created if it does not exist. All valid records with a sequence
+     * number higher than the given sequence number are passed to the handler, the end of the journal after the last
+     * valid record is removed. New records continue with the next sequence number.
+     *
+     * A new journal starts after the given sequence number. If the journal was checkpointed after a newer snapshot
+     * than the given sequence number the records in between are gone, so the journal is not opened.
+     *
+     * @param file - the journal file
+     * @param afterSequence - only records after this sequence number are replayed, e.g. the sequence number stored in
+     *                      the last snapshot
+     * @param batchWindow - how long the thread that forces the file waits for more records, 0 for no waiting
+     * @param unit - the unit of the batch window
+     * @param handler - the handler for the replayed records
+     * @return the opened journal
+     * @throws IOException if the file can not be opened, is not a journal or starts after the given sequence number
+     */
+    public static RentalJournal open(Path file, long afterSequence, long batchWindow, TimeUnit unit,
+                                     JournalHandler handler) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            long lastSequence = Math.max(afterSequence, replay(channel, afterSequence, handler));
+
+            return new RentalJournal(file, channel, lastSequence, unit.toNanos(batchWindow));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This method appends a record to the journal. The record is not yet durable, the caller has to call
+     * {@link #awaitDurable(long)} with the returned sequence number before the operation is acknowledged.
+     *
+     * @param type - the type of the record
+     * @param userId - the ID of the user
+     * @param movieId - the ID of the movie
+     * @return the sequence number of the record
+     * @throws IOException if the journal is closed or failed before
+     */
+    public long append(int type, int userId, int movieId) throws IOException {
+        synchronized(lock) {
+            checkUsable();
+
+            if(pending.remaining() < RECORD_SIZE) {
+                ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+
+            long sequence = ++lastSequence;
+            int start = pending.position();
+
+            pending.put((byte) type).putLong(sequence).putInt(userId).putInt(movieId);
+            checksum.reset();
+            checksum.update(pending.array(), start, CHECKED_SIZE);
+            pending.putInt((int) checksum.getValue());
+
+            return sequence;
+        }
+    }
+
+    /**
+     * This method waits until the record with the sequence number (and all records before) are forced to the storage
+     * device.
+     *
+     * @param sequence - the sequence number returned by {@link #append(int, int, int)}
+     * @throws IOException if the journal could not be written
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        synchronized(lock) {
+            while(durableSequence < sequence) {
+                if(failure != null) {
+                    throw new IOException("The journal could not be written", failure);
+                }
+
+                if(!syncing) {
+                    //this thread forces the records of all waiting threads
+                    syncing = true;
+                    break;
+                }
+
+                waitForLock();
+            }
+
+            if(durableSequence >= sequence) {
+                return;
+            }
+        }
+
+        sync();
+    }
+
+    /**
+     * This method returns the sequence number of the last appended record.
+     *
+     * @return the sequence number
+     */
+    public long getLastSequence() {
+        synchronized(lock) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * This method returns the sequence number of the last record that is forced to the storage device.
+     *
+     * @return the sequence number
+     */
+    public long getDurableSequence() {
+        synchronized(lock) {
+            return durableSequence;
+        }
+    }
+
+    /**
+     * This method removes all records up to the sequence number from the journal, e.g. after a snapshot with this
+     * sequence number was written. The newer records are copied into a new file, which atomically replaces the journal
+     * file, so the journal stays complete if the checkpoint fails or the system crashes in between.
+     *
+     * Appending records is still possible during the checkpoint, only forcing them waits until it is done.
+     *
+     * @param sequence - the sequence number of the last record that is not needed anymore
+     * @throws IOException if the journal can not be rewritten
+     */
+    public void checkpoint(long sequence) throws IOException {
+        //the records that are removed have to be in the file
+        awaitDurable(sequence);
+
+        synchronized(lock) {
+            checkUsable();
+
+            //this thread uses the channel alone, like a thread that forces the file
+            while(syncing) {
+                waitForLock();
+                checkUsable();
+            }
+
+            syncing = true;
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        IOException error = null;
+        boolean moved = false;
+
+        try {
+            try(FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putLong(sequence).flip();
+                writeFully(target, header);
+
+                long start = findRecordAfter(channel, sequence);
+                long size = channel.size();
+
+                for(long copied = 0; copied < size - start; ) {
+                    copied += channel.transferTo(start + copied, size - start - copied, target);
+                }
+
+                target.force(true);
+            }
+
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+
+            FileChannel replacement = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replacement.position(replacement.size());
+            replaceChannel(replacement);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            if(!moved) {
+                Files.deleteIfExists(temporary);
+            }
+
+            synchronized(lock) {
+                syncing = false;
+
+                //the old file is gone, so without the new channel no records can be written anymore
+                if(error != null && moved) {
+                    failure = error;
+                }
+
+                lock.notifyAll();
+            }
+        }
+
+        if(error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Forces all appended records to the storage device and closes the journal.
+     *
+     * @throws IOException if the records can not be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitDurable(getLastSequence());
+        } finally {
+            FileChannel current;
+
+            synchronized(lock) {
+                closed = true;
+                current = channel;
+            }
+
+            current.close();
+        }
+    }
+
+    //helper method that writes and forces the pending records, only called by the thread that set syncing
+    private void sync() throws IOException {
+        long batchEnd;
+        ByteBuffer batch;
+        FileChannel current;
+        IOException error = null;
+
+        if(batchWindowNanos > 0) {
+            //give the other threads the chance to append their records to this batch
+            try {
+                TimeUnit.NANOSECONDS.sleep(batchWindowNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized(lock) {
+            //swap the buffers, new records are appended to the empty buffer while the batch is written
+            batch = pending;
+            pending = writing;
+            writing = batch;
+            batchEnd = lastSequence;
+            current = channel;
+        }
+
+        try {
+            batch.flip();
+            writeFully(current, batch);
+            current.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            batch.clear();
+
+            synchronized(lock) {
+                syncing = false;
+
+                if(error == null) {
+                    durableSequence = batchEnd;
+                } else {
+                    failure = error;
+                }
+
+                lock.notifyAll();
+            }
+        }
+
+        if(error != null) {
+            throw error;
+        }
+    }
+
+    //helper method that uses the new channel after a checkpoint and closes the old one, the new channel is closed
+    //instead if the journal was closed in the meantime
+    private void replaceChannel(FileChannel replacement) throws IOException {
+        FileChannel old;
+
+        synchronized(lock) {
+            if(closed) {
+                old = replacement;
+            } else {
+                old = channel;
+                channel = replacement;
+            }
+        }
+
+        old.close();
+    }
+
+    //helper method that checks if records can be appended
+    private void checkUsable() throws IOException {
+        if(closed) {
+            throw new IOException("The journal is closed");
+        }
+
+        if(failure != null) {
+            throw new IOException("The journal could not be written", failure);
+        }
+    }
+
+    //helper method that waits until the lock is notified, must be called while holding the lock
+    private void waitForLock() throws IOException {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the journal", e);
+        }
+    }
+
+    //helper method that replays the records and removes the invalid end of the journal
+    private static long replay(FileChannel channel, long afterSequence, JournalHandler handler) throws IOException {
+        if(channel.size() < HEADER_SIZE) {
+            //a new journal or the header was not completely written, the journal starts after the snapshot
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(afterSequence).flip();
+            channel.truncate(0);
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(true);
+
+            return afterSequence;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+
+        if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("The file is not a rental journal of version " + VERSION);
+        }
+
+        long checkpoint = header.getLong(8);
+
+        if(afterSequence < checkpoint) {
+            throw new IOException("The journal starts after the sequence number " + checkpoint
+                    + ", it can not be replayed after the sequence number " + afterSequence);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096);
+        CRC32 crc = new CRC32();
+        long position = HEADER_SIZE;
+        long lastSequence = checkpoint;
+        boolean valid = true;
+
+        while(valid) {
+            buffer.clear();
+            int read = readFully(channel, buffer, position);
+            int records = read / RECORD_SIZE;
+
+            for(int i = 0; i < records; i++) {
+                int start = i * RECORD_SIZE;
+                crc.reset();
+                crc.update(buffer.array(), start, CHECKED_SIZE);
+                long sequence = buffer.getLong(start + 1);
+
+                //the sequence numbers have to increase, otherwise the record is garbage with a matching checksum
+                if(buffer.getInt(start + CHECKED_SIZE) != (int) crc.getValue() || sequence <= lastSequence) {
+                    valid = false;
+                    break;
+                }
+
+                lastSequence = sequence;
+                position += RECORD_SIZE;
+
+                if(sequence > afterSequence) {
+                    handler.handleRecord(sequence, buffer.get(start), buffer.getInt(start + 9),
+                            buffer.getInt(start + 13));
+                }
+            }
+
+            if(read < buffer.capacity()) {
+                //the end of the file, maybe with an incomplete record
+                break;
+            }
+        }
+
+        if(position < channel.size()) {
+            //remove the incomplete or corrupt end, so new records directly follow the last valid record
+            channel.truncate(position);
+            channel.force(true);
+        }
+
+        channel.position(position);
+
+        return lastSequence;
+    }
+
+    //helper method that finds the position of the first record after the sequence number, the records are sorted by
+    //their sequence number and have a fixed size, so a binary search is enough
+    private static long findRecordAfter(FileChannel channel, long sequence) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        long low = 0;
+        long high = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+
+        while(low < high) {
+            long middle = (low + high) >>> 1;
+            buffer.clear();
+            readFully(channel, buffer, HEADER_SIZE + middle * RECORD_SIZE + 1);
+
+            if(buffer.getLong(0) <= sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return HEADER_SIZE + low * RECORD_SIZE;
+    }
+
+    //helper method that writes the whole buffer at the position of the channel
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    //helper method that reads until the buffer is full or the file ends, returns the number of read bytes
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+
+            if(read < 0) {
+                break;
+            }
+
+            total += read;
+        }
+
+        return total;
+    }
+}
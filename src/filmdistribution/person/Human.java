@@ -41,6 +41,9 @@ public class Human {
     //Declaration of the attributes; no changes allowed
     private final String surname;
     private final String lastname;
+    //the complete name is used very often, so it is only calculated once
+    private final String name;
+    private final String lowerCaseName;
 
     /**
      * Constructs a new human
@@ -53,6 +56,8 @@ public class Human {
     public Human(String surname, String lastname) {
         this.surname = surname;
         this.lastname = lastname;
+        this.name = surname + " " + lastname;
+        this.lowerCaseName = name.toLowerCase();
     }
 
     /**
@@ -76,7 +81,15 @@ public class Human {
      * @return name of the person ("Surname Lastname")
      */
     public String getName() {
-        return String.format("%s %s", Human.this.getSurname(), Human.this.getLastname());
+        return name;
+    }
+
+    /**
+     * This method returns the complete name of the human in lower case, used for searching names
+     * @return name of the person in lower case ("surname lastname")
+     */
+    public String getLowerCaseName() {
+        return lowerCaseName;
     }
 
     /**
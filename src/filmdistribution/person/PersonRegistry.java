@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.person;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This registry stores every person (director or actor) only once. Humans with the same surname and lastname are
+ * mapped to one shared human with a stable person id, so a person that plays in thousands of movies exists only once
+ * and can be compared by the id instead of the name.
+ *
+ * The registry is not thread safe, it is used by the database while movies are inserted.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class PersonRegistry {
+    //the shared humans, the position is the person id
+    private final List<Human> persons;
+    //the person id of every name
+    private final Map<String, Integer> personIds;
+
+    /**
+     * Constructs a new empty registry.
+     */
+    public PersonRegistry() {
+        this.persons = new ArrayList<>();
+        this.personIds = new HashMap<>();
+    }
+
+    /**
+     * This method returns the shared human with the same name as the human. If there is no such human yet, the human
+     * itself is registered and becomes the shared human.
+     *
+     * @param human - the human
+     * @return the shared human with the same name
+     */
+    public Human intern(Human human) {
+        return persons.get(getPersonId(human));
+    }
+
+    /**
+     * This method returns the person id of the human. If there is no human with the same name yet, the human is
+     * registered with a new person id.
+     *
+     * @param human - the human
+     * @return the person id
+     */
+    public int getPersonId(Human human) {
+        String key = key(human.getSurname(), human.getLastname());
+        Integer personId = personIds.get(key);
+
+        if(personId != null) {
+            return personId;
+        }
+
+        int newId = persons.size();
+        persons.add(human);
+        personIds.put(key, newId);
+
+        return newId;
+    }
+
+    /**
+     * This method returns the person id of a name without registering it.
+     *
+     * @param surname - surname of the person
+     * @param lastname - lastname of the person
+     * @return the person id or -1 if there is no person with the name
+     */
+    public int findPersonId(String surname, String lastname) {
+        Integer personId = personIds.get(key(surname, lastname));
+
+        return personId == null ? -1 : personId;
+    }
+
+    /**
+     * This method returns the shared human with the person id.
+     *
+     * @param personId - the person id
+     * @return the human
+     */
+    public Human getPerson(int personId) {
+        return persons.get(personId);
+    }
+
+    /**
+     * This method returns the number of registered persons.
+     *
+     * @return number of persons
+     */
+    public int size() {
+        return persons.size();
+    }
+
+    //helper method that creates the key of a name, the separator can not be part of a name
+    private static String key(String surname, String lastname) {
+        return surname + '\u0000' + lastname;
+    }
+}
@@ -55,6 +55,25 @@ public class Premiumuser extends User {
         super(surname, lastname, birthyear, MAX_RENTABLE_MOVIES);
     }
 
+    /**
+     * This constructs a new Premiumuser with an ID that was already assigned.
+     *
+     * @param userId - the unique ID of the premium user
+     * @param surname - surname of the premium user
+     * @param lastname - lastname of the premium user
+     * @param birthyear - year of birth of the premium user
+     *
+     * @see filmdistribution.person.User#User(int, String, String, int, int)
+     */
+    public Premiumuser(int userId, String surname, String lastname, int birthyear) {
+        super(userId, surname, lastname, birthyear, MAX_RENTABLE_MOVIES);
+    }
+
+    @Override
+    public int getType() {
+        return USER_PREMIUM;
+    }
+
     /**
      * This method calculates the price of the movie for an user.
      *
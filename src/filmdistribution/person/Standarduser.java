@@ -55,6 +55,25 @@ public class Standarduser extends User {
         super(surname, lastname, birthyear, MAX_RENTABLE_MOVIES);
     }
 
+    /**
+     * This constructs a new Standarduser with an ID that was already assigned.
+     *
+     * @param userId - the unique ID of the standard user
+     * @param surname - surname of the standard user
+     * @param lastname - lastname of the standard user
+     * @param birthyear - year of birth of the standard user
+     *
+     * @see filmdistribution.person.User#User(int, String, String, int, int)
+     */
+    public Standarduser(int userId, String surname, String lastname, int birthyear) {
+        super(userId, surname, lastname, birthyear, MAX_RENTABLE_MOVIES);
+    }
+
+    @Override
+    public int getType() {
+        return USER_STANDARD;
+    }
+
     /**
      * This method calculates the price of the movie for an user.
      *
@@ -32,11 +32,14 @@
 package filmdistribution.person;
 
 import filmdistribution.film.DistributionMovie;
+import filmdistribution.id.AtomicIdAllocator;
+import filmdistribution.id.IdAllocator;
+import filmdistribution.util.Appendables;
+import filmdistribution.util.IntHashSet;
 
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
-import java.util.List;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This represents an user which is also an human being.
@@ -44,7 +47,11 @@ import java.util.List;
  * A user has basically a year of birth, an unique ID in the system. An user can also only rent
  * a maximum number of movies, and has stored the number of rented movies.
  *
- * Movies can yet only be added for renting, returning movies is not implemented yet.
+ * The rented movies are stored as a set of movie IDs, so checking, renting and returning a movie needs constant time
+ * even for users that can rent many movies.
+ *
+ * Renting is thread safe: the number of rented movies is an atomic counter, so an user can never rent more movies
+ * than the maximum number of movies, even if many threads rent movies for the same user at the same time.
  *
  * Different user groups will only be different in the maximal number of movies that they can rent, and the price they
  * have to pay for renting a movie.
@@ -63,10 +70,15 @@ public abstract class User extends Human {
     private final int birthyear;
     private final int userId;
     private final int maxNumberMovies;
-    private final List<DistributionMovie> rentedMovies;
+    //the ids of the rented movies, guarded by the lock of the set
+    private final IntHashSet rentedMovies;
+    //changeable attributes
+    private final AtomicInteger numberOfRentedMovies;
 
-    //static class member counter (also starts with the default id = 1)
-    private static int nextId = 1;
+    //static class member allocator for the ids (also starts with the default id = 1)
+    private static volatile IdAllocator idAllocator = new AtomicIdAllocator(1);
+    //static class member clock for the age of the users
+    private static volatile YearClock yearClock = new YearClock(Clock.systemDefaultZone());
 
     /**
      * Constructs an new user
@@ -81,18 +93,68 @@ public abstract class User extends Human {
      * @see filmdistribution.person.Human
      */
     public User(String surname, String lastname, int birthyear, int maxNumberMovies) {
+        //unique user id calculation
+        this(idAllocator.nextId(), surname, lastname, birthyear, maxNumberMovies);
+    }
+
+    /**
+     * Constructs an new user with an ID that was already assigned, for example a restored user.
+     *
+     * The ID is not checked, the caller has to make sure that it is unique and that the allocator is reseeded if the
+     * ID was not handed out by it.
+     *
+     * @param userId - the unique ID of the user
+     * @param surname - Surname of the user
+     * @param lastname - Lastname of the user
+     * @param birthyear - Year of Birth of the user
+     * @param maxNumberMovies - max number that can be rented by a user
+     */
+    public User(int userId, String surname, String lastname, int birthyear, int maxNumberMovies) {
         //Just store the information from the constructor
         super(surname, lastname);
+        this.userId = userId;
         this.birthyear = birthyear;
         this.maxNumberMovies = maxNumberMovies;
 
-        //unique user id calculation
-        this.userId = nextId;
-        //increment the id counter
-        nextId++;
+        //Create empty set for rented movies
+        this.rentedMovies = new IntHashSet();
+        this.numberOfRentedMovies = new AtomicInteger();
+    }
+
+    /**
+     * This method returns the allocator that hands out the IDs of new users.
+     *
+     * @return the id allocator of the users
+     */
+    public static IdAllocator getIdAllocator() {
+        return idAllocator;
+    }
 
-        //Create empty array list for rented movies
-        this.rentedMovies = new ArrayList<>();
+    /**
+     * This method changes the allocator that hands out the IDs of new users.
+     *
+     * @param allocator - the new id allocator of the users
+     */
+    public static void setIdAllocator(IdAllocator allocator) {
+        idAllocator = allocator;
+    }
+
+    /**
+     * This method returns the clock that is used to calculate the age of the users.
+     *
+     * @return the clock of the users
+     */
+    public static YearClock getYearClock() {
+        return yearClock;
+    }
+
+    /**
+     * This method changes the clock that is used to calculate the age of the users, e.g. to a fixed clock for tests.
+     *
+     * @param clock - the new clock
+     */
+    public static void setClock(Clock clock) {
+        yearClock = new YearClock(clock);
     }
 
     /**
@@ -104,6 +166,22 @@ public abstract class User extends Human {
         return userId;
     }
 
+    /**
+     * This method returns the year of birth of the user.
+     *
+     * @return year of birth
+     */
+    public int getBirthyear() {
+        return birthyear;
+    }
+
+    /**
+     * This method returns the type of the user, {@link #USER_STANDARD} or {@link #USER_PREMIUM}.
+     *
+     * @return the type of the user
+     */
+    public abstract int getType();
+
     /**
      * This method returns the maximum number of movies that can be rented by the user
      *
@@ -114,13 +192,14 @@ public abstract class User extends Human {
     }
 
     /**
-     * This method returns the number of movies that the user has rented.
+     * This method returns the number of movies that the user has rented, including the places that are reserved for
+     * movies that are being rented at the moment.
      *
      * @return number of rented movies
      */
     public int getNumberOfRentedMovies() {
-        //The size of the list should be enough
-        return rentedMovies.size();
+        //the counter is reserved before a movie is added to the set of rented ids, so it is never lower than the set
+        return numberOfRentedMovies.get();
     }
 
     /**
@@ -129,9 +208,8 @@ public abstract class User extends Human {
      * @return Age of an user.
      */
     public int getAge(){
-        //get the current year of the calender and subtract the year of birth to get the age
-        int year = GregorianCalendar.getInstance().get(Calendar.YEAR);
-        return year - birthyear;
+        //get the current (cached) year and subtract the year of birth to get the age
+        return yearClock.getCurrentYear() - birthyear;
     }
 
     /**
@@ -151,7 +229,117 @@ public abstract class User extends Human {
      * @param movieForRental - the movie that is rented
      */
     public void rentMovie(DistributionMovie movieForRental) {
-        rentedMovies.add(movieForRental);
+        numberOfRentedMovies.incrementAndGet();
+        addRentedMovie(movieForRental);
+    }
+
+    /**
+     * This method rents the movie for the user, if the user can rent another movie and the movie is available.
+     *
+     * First a place in the rented movies is reserved, after that the movie is marked as rented. If the movie was
+     * already rented the reserved place is released again. So neither the user nor the movie can be oversubscribed.
+     *
+     * @param movieForRental - the movie that should be rented
+     * @return true if the movie is rented by the user now - false if the user or the movie did not allow the rental
+     */
+    public boolean tryToRentMovie(DistributionMovie movieForRental) {
+        if(reserveRentals(1, true) == 0) {
+            return false;
+        }
+
+        if(!rentReservedMovie(movieForRental)) {
+            //the movie was rented by someone else, release the reserved place
+            releaseRentals(1);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * This method reserves places for rented movies, so that a whole basket of movies can be checked against the
+     * maximum number of movies at once. Every reserved place has to be used by {@link #rentReservedMovie} or released
+     * by {@link #releaseRentals(int)}.
+     *
+     * @param count - the number of places that should be reserved
+     * @param allOrNothing - true if either all places or none should be reserved, false if as many places as possible
+     *                     should be reserved
+     * @return the number of reserved places
+     */
+    public int reserveRentals(int count, boolean allOrNothing) {
+        int rented = numberOfRentedMovies.get();
+
+        while(true) {
+            int reserved = Math.min(count, maxNumberMovies - rented);
+
+            if(reserved <= 0 || (allOrNothing && reserved < count)) {
+                return 0;
+            }
+
+            if(numberOfRentedMovies.compareAndSet(rented, rented + reserved)) {
+                return reserved;
+            }
+
+            rented = numberOfRentedMovies.get();
+        }
+    }
+
+    /**
+     * This method releases places that were reserved by {@link #reserveRentals(int, boolean)} but not used.
+     *
+     * @param count - the number of places that should be released
+     */
+    public void releaseRentals(int count) {
+        if(count > 0) {
+            numberOfRentedMovies.addAndGet(-count);
+        }
+    }
+
+    /**
+     * This method rents the movie on a place that was reserved by {@link #reserveRentals(int, boolean)} before. If the
+     * movie is already rented the place stays reserved.
+     *
+     * @param movieForRental - the movie that should be rented
+     * @return true if the movie is rented by the user now - false if the movie was already rented
+     */
+    public boolean rentReservedMovie(DistributionMovie movieForRental) {
+        if(!movieForRental.tryToRent()) {
+            return false;
+        }
+
+        addRentedMovie(movieForRental);
+        return true;
+    }
+
+    /**
+     * This method returns the movie, if it is rented by the user. The movie is removed from the rented movies and
+     * becomes available again.
+     *
+     * @param rentedMovie - the movie that should be returned
+     * @return true if the movie was returned - false if the movie is not rented by the user
+     */
+    public boolean returnMovie(DistributionMovie rentedMovie) {
+        synchronized(rentedMovies) {
+            if(!rentedMovies.remove(rentedMovie.getId())) {
+                return false;
+            }
+        }
+
+        numberOfRentedMovies.decrementAndGet();
+        rentedMovie.setMovieAvailable(DistributionMovie.MOVIE_AVAILABLE);
+
+        return true;
+    }
+
+    /**
+     * This method returns the IDs of the movies rented by the user.
+     *
+     * @return a new array with the movie IDs sorted in ascending order
+     */
+    public int[] getRentedMovieIds() {
+        synchronized(rentedMovies) {
+            return rentedMovies.toSortedArray();
+        }
     }
 
     /**
@@ -161,7 +349,9 @@ public abstract class User extends Human {
      * @return true if the movie is already rented - false if the movie is not already rented
      */
     public boolean hasMovieAlreadyRented(DistributionMovie movie) {
-        return rentedMovies.contains(movie);
+        synchronized(rentedMovies) {
+            return rentedMovies.contains(movie.getId());
+        }
     }
 
     /**
@@ -171,6 +361,13 @@ public abstract class User extends Human {
      */
     public abstract double getPriceForMovie();
 
+    //helper method that adds the movie to the rented movies
+    private void addRentedMovie(DistributionMovie movie) {
+        synchronized(rentedMovies) {
+            rentedMovies.add(movie.getId());
+        }
+    }
+
     /**
      * Returns some basic information about the object.
      *
@@ -178,7 +375,40 @@ public abstract class User extends Human {
      */
     @Override
     public String toString() {
-        return String.format("%d: %s (Age=%d) has rented %d of %d movies.",
-                getId(), getName(), getAge(), getNumberOfRentedMovies(), getMaxNumberMovies());
+        return appendTo(new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Appends the same information as {@link #toString()} to the builder.
+     *
+     * @param builder - the builder the information is appended to
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        try {
+            appendTo((Appendable) builder);
+        } catch (IOException e) {
+            //a string builder does not throw io exceptions
+            throw new IllegalStateException(e);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Appends the same information as {@link #toString()} to the output, without creating the string first.
+     *
+     * @param out - the output the information is appended to
+     * @throws IOException if the output can not be written
+     */
+    public void appendTo(Appendable out) throws IOException {
+        Appendables.append(out, userId);
+        out.append(": ").append(getName()).append(" (Age=");
+        Appendables.append(out, getAge());
+        out.append(") has rented ");
+        Appendables.append(out, getNumberOfRentedMovies());
+        out.append(" of ");
+        Appendables.append(out, maxNumberMovies);
+        out.append(" movies.");
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.person;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * This clock returns the current year. The year is calculated only once and then cached until the year is over, so
+ * asking for the year only costs reading the time in milliseconds and no calendar has to be created.
+ *
+ * The time is read from a {@link Clock}, so the current year can be fixed for tests with {@link Clock#fixed}.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class YearClock {
+    //the clock the time is read from
+    private final Clock clock;
+    //the cached year, replaced as a whole so that the year and its range always fit together
+    private volatile CachedYear cachedYear;
+
+    /**
+     * Constructs a new year clock.
+     *
+     * @param clock - the clock the time is read from
+     */
+    public YearClock(Clock clock) {
+        this.clock = clock;
+        this.cachedYear = calculateYear(clock.millis());
+    }
+
+    /**
+     * This method returns the current year of the clock.
+     *
+     * @return the current year
+     */
+    public int getCurrentYear() {
+        long now = clock.millis();
+        CachedYear year = cachedYear;
+
+        if(now < year.start || now >= year.end) {
+            //the year is over (or the clock was set back), calculate it again
+            year = calculateYear(now);
+            cachedYear = year;
+        }
+
+        return year.year;
+    }
+
+    /**
+     * This method returns the clock the time is read from.
+     *
+     * @return the clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    //helper method that calculates the year of the time and when the year starts and ends
+    private CachedYear calculateYear(long millis) {
+        ZoneId zone = clock.getZone();
+        int year = Instant.ofEpochMilli(millis).atZone(zone).getYear();
+        long start = LocalDate.of(year, 1, 1).atStartOfDay(zone).toInstant().toEpochMilli();
+        long end = LocalDate.of(year + 1, 1, 1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        return new CachedYear(year, start, end);
+    }
+
+    //a year and the range of the year in milliseconds
+    private static class CachedYear {
+        private final int year;
+        private final long start;
+        private final long end;
+
+        private CachedYear(int year, long start, long end) {
+            this.year = year;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
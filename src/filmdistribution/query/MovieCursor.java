@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.query;
+
+import filmdistribution.film.DistributionMovie;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A MovieCursor walks through the result of a query in the order of the IDs. The cursor only keeps the IDs of the
+ * result, a movie is looked up when the cursor reaches it, so a page of 20 movies only creates these 20 movies, no
+ * matter how many movies the query found.
+ *
+ * The result can be paged with {@link #offset(int)} and {@link #limit(int)}, or with {@link #after(int)} and the ID of
+ * the last movie of the previous page. Paging by the ID does not skip the movies of the previous pages again, so every
+ * page is as fast as the first page.
+ *
+ * The IDs are the result at the moment the query was executed, movies that are rented later are still returned.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.query.MovieQuery#cursor()
+ */
+public class MovieCursor implements Iterable<DistributionMovie> {
+    //the indexes the movies are looked up in
+    private final QuerySource source;
+    //the IDs of the result
+    private final BitSet movieIds;
+
+    //the page
+    private int afterId;
+    private int offset;
+    private int limit;
+
+    /**
+     * Constructs a new cursor over all IDs of the result.
+     *
+     * @param source - the indexes the movies are looked up in
+     * @param movieIds - the IDs of the result, the set must not be changed afterwards
+     */
+    public MovieCursor(QuerySource source, BitSet movieIds) {
+        this.source = source;
+        this.movieIds = movieIds;
+        this.afterId = -1;
+        this.limit = Integer.MAX_VALUE;
+    }
+
+    /**
+     * This method starts the cursor after the movie with the ID, usually the last movie of the previous page.
+     *
+     * @param movieId - the ID after which the cursor starts
+     * @return this cursor
+     */
+    public MovieCursor after(int movieId) {
+        //a set can not contain Integer.MAX_VALUE, so there is nothing after it
+        this.afterId = Math.min(Math.max(movieId, -1), Integer.MAX_VALUE - 1);
+
+        return this;
+    }
+
+    /**
+     * This method skips the first movies of the result.
+     *
+     * @param offset - the number of movies that are skipped
+     * @return this cursor
+     * @throws IllegalArgumentException if the offset is negative
+     */
+    public MovieCursor offset(int offset) {
+        if(offset < 0) {
+            throw new IllegalArgumentException("The offset must not be negative: " + offset);
+        }
+
+        this.offset = offset;
+
+        return this;
+    }
+
+    /**
+     * This method limits the number of movies the cursor returns.
+     *
+     * @param limit - the maximum number of movies
+     * @return this cursor
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public MovieCursor limit(int limit) {
+        if(limit < 0) {
+            throw new IllegalArgumentException("The limit must not be negative: " + limit);
+        }
+
+        this.limit = limit;
+
+        return this;
+    }
+
+    /**
+     * This method counts the movies the cursor returns without looking them up.
+     *
+     * @return number of movies
+     */
+    public int count() {
+        long count;
+
+        if(afterId < 0) {
+            count = movieIds.cardinality();
+        } else {
+            count = 0;
+
+            for(int id = movieIds.nextSetBit(afterId + 1); id >= 0; id = movieIds.nextSetBit(id + 1)) {
+                count++;
+            }
+        }
+
+        return (int) Math.max(0, Math.min(count - offset, limit));
+    }
+
+    /**
+     * This method returns the movies of the page.
+     *
+     * @return the movies sorted by ID
+     */
+    public List<DistributionMovie> list() {
+        //the list of a small page is not sized by the whole result
+        List<DistributionMovie> result = new ArrayList<>(Math.min(limit, 64));
+
+        for(DistributionMovie movie : this) {
+            result.add(movie);
+        }
+
+        return result;
+    }
+
+    /**
+     * This method returns the movies of the page as a sequential stream, the movies are looked up while the stream is
+     * consumed.
+     *
+     * @return the movies sorted by ID
+     */
+    public Stream<DistributionMovie> stream() {
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), count(), characteristics), false);
+    }
+
+    /**
+     * This method returns an iterator over the movies of the page, the movies are looked up by the iterator.
+     *
+     * @return the movies sorted by ID
+     */
+    @Override
+    public Iterator<DistributionMovie> iterator() {
+        int first = movieIds.nextSetBit(afterId + 1);
+
+        for(int i = 0; i < offset && first >= 0; i++) {
+            first = movieIds.nextSetBit(first + 1);
+        }
+
+        final int start = first;
+
+        return new Iterator<DistributionMovie>() {
+            private int nextId = limit > 0 ? start : -1;
+            private int returned;
+
+            @Override
+            public boolean hasNext() {
+                return nextId >= 0;
+            }
+
+            @Override
+            public DistributionMovie next() {
+                if(nextId < 0) {
+                    throw new NoSuchElementException();
+                }
+
+                DistributionMovie movie = source.getMovie(nextId);
+                returned++;
+                nextId = returned < limit ? movieIds.nextSetBit(nextId + 1) : -1;
+
+                return movie;
+            }
+        };
+    }
+}
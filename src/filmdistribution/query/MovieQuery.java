@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.query;
+
+import filmdistribution.film.DistributionMovie;
+import filmdistribution.table.MovieTable;
+import filmdistribution.util.Appendables;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A MovieQuery combines the searches of the database, e.g. all available crime movies with Tom that user 3 is allowed
+ * to watch. All predicates are combined with AND.
+ *
+ * The query is planned before it is executed: the genre and name predicates are combined on the titles and expanded
+ * to the copies once, then the steps are executed in the order of the estimated number of copies, so the most
+ * selective index is used first and the other indexes only intersect the set of IDs. The year range has no index, it
+ * is checked on the remaining copies or scanned in the movie table, whatever is cheaper. No list of movies is created
+ * before the end of the query. The plan can be inspected with {@link #explain()}.
+ *
+ * Big results can be paged with {@link #cursor()} and counted with {@link #count()}, both without creating a list of
+ * all movies.
+ *
+ * A query is not thread safe, but many queries can be executed at the same time.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.Database#query()
+ */
+public class MovieQuery {
+    //the year range is checked on the copies if there are less candidates than rows / RESIDUAL_FACTOR
+    private static final int RESIDUAL_FACTOR = 8;
+
+    //the indexes of the database
+    private final QuerySource source;
+
+    //the predicates, every genre, genre expression and name search is one predicate
+    private final List<String> genres;
+    private final List<String> genreExpressions;
+    private final List<String> names;
+    private int lowestFsk;
+    private int highestFsk;
+    private boolean fskRestricted;
+    private int firstYear;
+    private int lastYear;
+    private boolean yearRestricted;
+    private boolean onlyAvailable;
+    private int userId;
+
+    /**
+     * Constructs a new query without predicates, so the query finds all copies.
+     *
+     * @param source - the indexes the query uses
+     */
+    public MovieQuery(QuerySource source) {
+        this.source = source;
+        this.genres = new ArrayList<>();
+        this.genreExpressions = new ArrayList<>();
+        this.names = new ArrayList<>();
+        this.lowestFsk = Integer.MIN_VALUE;
+        this.highestFsk = Integer.MAX_VALUE;
+        this.firstYear = Integer.MIN_VALUE;
+        this.lastYear = Integer.MAX_VALUE;
+        this.userId = -1;
+    }
+
+    /**
+     * This method restricts the query to movies whose genre contains the text, like
+     * {@link filmdistribution.Database#searchGenre(String)}. Upper and lower case are ignored.
+     *
+     * @param genre - the search text
+     * @return this query
+     */
+    public MovieQuery genre(String genre) {
+        genres.add(genre);
+
+        return this;
+    }
+
+    /**
+     * This method restricts the query to a combination of genres. Upper and lower case are ignored.
+     *
+     * @param expression - a genre or a combination of genres with AND and OR, e.g. "Crime AND Drama"
+     * @return this query
+     */
+    public MovieQuery genreExpression(String expression) {
+        genreExpressions.add(expression);
+
+        return this;
+    }
+
+    /**
+     * This method restricts the query to movies with a director or actor whose name contains the text. Upper and
+     * lower case are ignored.
+     *
+     * @param name - the search text
+     * @return this query
+     */
+    public MovieQuery name(String name) {
+        names.add(name);
+
+        return this;
+    }
+
+    /**
+     * This method restricts the query to an FSK range, if there is already a range both ranges have to match.
+     *
+     * @param lowerBound - the lowest FSK age rating
+     * @param upperBound - the highest FSK age rating
+     * @return this query
+     */
+    public MovieQuery fsk(int lowerBound, int upperBound) {
+        lowestFsk = Math.max(lowestFsk, lowerBound);
+        highestFsk = Math.min(highestFsk, upperBound);
+        fskRestricted = true;
+
+        return this;
+    }
+
+    /**
+     * This method restricts the query to a range of publishing years, if there is already a range both ranges have
+     * to match.
+     *
+     * @param from - the first year of the range
+     * @param to - the last year of the range
+     * @return this query
+     */
+    public MovieQuery years(int from, int to) {
+        firstYear = Math.max(firstYear, from);
+        lastYear = Math.min(lastYear, to);
+        yearRestricted = true;
+
+        return this;
+    }
+
+    /**
+     * This method restricts the query to the movies that are available when the query is executed.
+     *
+     * @return this query
+     */
+    public MovieQuery available() {
+        onlyAvailable = true;
+
+        return this;
+    }
+
+    /**
+     * This method restricts the query to the movies the user is allowed to watch, so the FSK age rating must not be
+     * higher than the age of the user.
+     *
+     * @param userId - the ID of the user
+     * @return this query
+     * @throws IllegalArgumentException if there is no user with the ID or the age of the user is negative, because the
+     *                                  year of birth is in the future
+     */
+    public MovieQuery forUser(int userId) {
+        int age = source.getUserAge(userId);
+
+        if(age == QuerySource.UNKNOWN_USER) {
+            throw new IllegalArgumentException("There is no user with the ID " + userId);
+        }
+
+        if(age < 0) {
+            throw new IllegalArgumentException("The user with the ID " + userId + " has the invalid age " + age);
+        }
+
+        this.userId = userId;
+
+        return fsk(Integer.MIN_VALUE, age);
+    }
+
+    /**
+     * This method executes the query.
+     *
+     * @return the movies sorted by ID
+     */
+    public List<DistributionMovie> list() {
+        return source.toMovieList(movieIds());
+    }
+
+    /**
+     * This method executes the query and returns a cursor over the result, so that only the movies of a page are
+     * looked up, e.g. {@code cursor().after(lastId).limit(20).list()}.
+     *
+     * @return the cursor over all movies of the result
+     */
+    public MovieCursor cursor() {
+        return new MovieCursor(source, movieIds());
+    }
+
+    /**
+     * This method counts the movies of the query without looking them up. A query with only one index step is
+     * counted by the index without creating a set of IDs.
+     *
+     * @return number of movies
+     */
+    public int count() {
+        List<Step> steps = plan();
+
+        //the estimates of the index steps are exact, only the estimate of the year step is unknown
+        if(steps.size() == 1 && steps.get(0).estimate >= 0) {
+            return steps.get(0).estimate;
+        }
+
+        return execute(steps).cardinality();
+    }
+
+    /**
+     * This method executes the query without looking up the movies.
+     *
+     * @return the IDs of the movies
+     */
+    public BitSet movieIds() {
+        return execute(plan());
+    }
+
+    /**
+     * This method returns the plan of the query, one line per step in the order the steps are executed, with the
+     * estimated number of copies each step finds.
+     *
+     * Planning is not free: the genre and name predicates are searched in their title indexes, because the number of
+     * copies of the found titles is the estimate of the title step. The titles are not expanded to their copies, no
+     * other step is executed and no movie is looked up.
+     *
+     * @return the plan
+     */
+    public String explain() {
+        StringBuilder builder = new StringBuilder(256);
+        List<Step> steps = plan();
+
+        for(int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+
+            builder.append(i + 1).append(". ").append(step.description);
+
+            if(step.estimate >= 0) {
+                builder.append(" (estimated ").append(step.estimate).append(" copies)");
+            }
+
+            builder.append(Appendables.LINE_SEPARATOR);
+        }
+
+        return builder.toString();
+    }
+
+    //helper method that executes the steps in their order
+    private static BitSet execute(List<Step> steps) {
+        BitSet result = null;
+
+        for(Step step : steps) {
+            result = step.apply(result);
+
+            if(result.isEmpty()) {
+                //no step can add movies again
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    //helper method that creates the steps of the query in the order they are executed
+    private List<Step> plan() {
+        List<Step> steps = new ArrayList<>();
+
+        if(!genres.isEmpty() || !genreExpressions.isEmpty() || !names.isEmpty()) {
+            steps.add(planTitles());
+        }
+
+        if(fskRestricted) {
+            steps.add(planFsk());
+        }
+
+        if(onlyAvailable) {
+            steps.add(planAvailable());
+        }
+
+        //the most selective index first, the order of steps with the same estimate is kept
+        Collections.sort(steps, new Comparator<Step>() {
+            @Override
+            public int compare(Step first, Step second) {
+                return Integer.compare(first.estimate, second.estimate);
+            }
+        });
+
+        if(yearRestricted) {
+            steps.add(planYears(steps.isEmpty() ? -1 : steps.get(0).estimate));
+        } else if(steps.isEmpty()) {
+            //no predicates, all copies are found
+            steps.add(planAll());
+        }
+
+        return steps;
+    }
+
+    //helper method that combines the genre and name predicates on the titles, so the titles are expanded only once
+    //the title indexes are searched while planning, the exact number of copies of the titles is the estimate
+    private Step planTitles() {
+        final BitSet titleIds = new BitSet();
+        StringBuilder description = new StringBuilder("title index:");
+        boolean first = true;
+
+        for(String genre : genres) {
+            intersect(titleIds, source.searchGenreTitles(genre), first);
+            description.append(first ? " " : " AND ").append("genre \"").append(genre).append('"');
+            first = false;
+        }
+
+        for(String expression : genreExpressions) {
+            intersect(titleIds, source.searchGenreExpressionTitles(expression), first);
+            description.append(first ? " " : " AND ").append("genres (").append(expression).append(')');
+            first = false;
+        }
+
+        for(String name : names) {
+            intersect(titleIds, source.searchNameTitles(name), first);
+            description.append(first ? " " : " AND ").append("name \"").append(name).append('"');
+            first = false;
+        }
+
+        description.append(", ").append(titleIds.cardinality()).append(" titles expanded to their copies");
+
+        //the number of copies of the titles is exact
+        return new Step(description.toString(), source.countCopies(titleIds)) {
+            @Override
+            BitSet apply(BitSet result) {
+                return and(result, source.copiesOf(titleIds));
+            }
+        };
+    }
+
+    //helper method that creates the step for the FSK range, including the age of the user
+    private Step planFsk() {
+        String description = "fsk index: FSK " + bound(lowestFsk) + " - " + bound(highestFsk);
+
+        if(userId >= 0) {
+            description += " (restricted to the age of user " + userId + ")";
+        }
+
+        return new Step(description, source.countFsk(lowestFsk, highestFsk)) {
+            @Override
+            BitSet apply(BitSet result) {
+                return and(result, source.searchFsk(lowestFsk, highestFsk));
+            }
+        };
+    }
+
+    //helper method that creates the step for the available movies
+    private Step planAvailable() {
+        return new Step("availability index: available copies", source.countAvailable()) {
+            @Override
+            BitSet apply(BitSet result) {
+                return and(result, source.searchAvailable());
+            }
+        };
+    }
+
+    //helper method that creates the step for all copies
+    private Step planAll() {
+        return new Step("fsk index: all copies", source.countFsk(lowestFsk, highestFsk)) {
+            @Override
+            BitSet apply(BitSet result) {
+                return and(result, source.searchFsk(lowestFsk, highestFsk));
+            }
+        };
+    }
+
+    //helper method that creates the step for the year range, the candidates are the estimate of the previous steps
+    private Step planYears(int candidates) {
+        final MovieTable table = source.getMovieTable();
+        String range = bound(firstYear) + " - " + bound(lastYear);
+
+        if(candidates >= 0 && (long) candidates * RESIDUAL_FACTOR < table.size()) {
+            //only a few candidates, check their year instead of scanning the whole table
+            return new Step("year filter: " + range + " checked on the candidates", -1) {
+                @Override
+                BitSet apply(BitSet result) {
+                    for(int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+                        int year = source.getMovie(id).getPublishingYear();
+
+                        if(year < firstYear || year > lastYear) {
+                            result.clear(id);
+                        }
+                    }
+
+                    return result;
+                }
+            };
+        }
+
+        return new Step("table scan: year " + range + " on " + table.size() + " rows", -1) {
+            @Override
+            BitSet apply(BitSet result) {
+                BitSet ids = source.getQueryExecutor().scan(table.size(), new RowScan() {
+                    @Override
+                    public void scan(int fromRow, int toRow, BitSet result) {
+                        table.scanYear(firstYear, lastYear, fromRow, toRow, result);
+                    }
+                });
+
+                return and(result, ids);
+            }
+        };
+    }
+
+    //helper method that intersects the ids, the first ids are copied
+    private static void intersect(BitSet result, BitSet ids, boolean first) {
+        if(first) {
+            result.or(ids);
+        } else {
+            result.and(ids);
+        }
+    }
+
+    //helper method that intersects the ids found so far (null before the first step) with the ids of a step
+    private static BitSet and(BitSet result, BitSet ids) {
+        if(result == null) {
+            return ids;
+        }
+
+        result.and(ids);
+
+        return result;
+    }
+
+    //helper method that returns a bound of a range for the plan, open bounds are shown as *
+    private static String bound(int bound) {
+        if(bound == Integer.MIN_VALUE || bound == Integer.MAX_VALUE) {
+            return "*";
+        }
+
+        return String.valueOf(bound);
+    }
+
+    //one step of the plan
+    private abstract static class Step {
+        private final String description;
+        //estimated number of copies the step finds, -1 if the step is not estimated
+        private final int estimate;
+
+        Step(String description, int estimate) {
+            this.description = description;
+            this.estimate = estimate;
+        }
+
+        //helper method that restricts the ids found so far, null before the first step
+        abstract BitSet apply(BitSet result);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.query;
+
+import filmdistribution.index.IdIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This executor runs the expensive parts of a query, the scans of a table and the lookup of the found movies, either
+ * sequentially or split into ranges on a fork join pool.
+ *
+ * The ranges are contiguous ranges of rows or IDs and the results of the ranges are merged in the order of the ranges,
+ * so a parallel query returns exactly the same result in the same order as a sequential query. Queries with less
+ * rows or results than the threshold are always executed sequentially, because splitting them costs more than it
+ * saves.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class QueryExecutor {
+    //the default number of rows or results from which a query is split (64 Ki)
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    //the pool for parallel queries, null for sequential queries
+    private final ForkJoinPool pool;
+    //queries smaller than this are executed sequentially
+    private final int threshold;
+
+    /**
+     * Constructs a new executor that executes all queries sequentially.
+     */
+    public QueryExecutor() {
+        this(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new executor that splits the queries on the pool.
+     *
+     * @param pool - the pool that executes the ranges, null for sequential queries
+     * @param threshold - the minimum number of rows or results of a range
+     */
+    public QueryExecutor(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * This method checks if the queries are split on a pool.
+     *
+     * @return true if the queries can be executed in parallel - false if they are always executed sequentially
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * This method scans all rows of a table.
+     *
+     * @param rows - the number of rows of the table
+     * @param scan - the scan of a range of rows
+     * @return the IDs of the matching movies
+     */
+    public BitSet scan(int rows, final RowScan scan) {
+        int ranges = countRanges(rows);
+
+        if(ranges <= 1) {
+            BitSet result = new BitSet();
+            scan.scan(0, rows, result);
+
+            return result;
+        }
+
+        List<Callable<BitSet>> tasks = new ArrayList<>(ranges);
+
+        for(int i = 0; i < ranges; i++) {
+            final int fromRow = (int) ((long) rows * i / ranges);
+            final int toRow = (int) ((long) rows * (i + 1) / ranges);
+
+            tasks.add(new Callable<BitSet>() {
+                @Override
+                public BitSet call() {
+                    BitSet result = new BitSet();
+                    scan.scan(fromRow, toRow, result);
+
+                    return result;
+                }
+            });
+        }
+
+        BitSet result = new BitSet();
+
+        for(BitSet part : invokeAll(tasks)) {
+            result.or(part);
+        }
+
+        return result;
+    }
+
+    /**
+     * This method looks up the entities of all IDs in the set.
+     *
+     * @param ids - the IDs
+     * @param index - the index of the entities
+     * @param <T> - the type of the entities
+     * @return the entities sorted by ID
+     */
+    public <T> List<T> toList(final BitSet ids, final IdIndex<T> index) {
+        int count = ids.cardinality();
+        int ranges = countRanges(count);
+
+        if(ranges <= 1) {
+            return lookUp(ids, 0, ids.length(), index, count);
+        }
+
+        final int length = ids.length();
+        List<Callable<List<T>>> tasks = new ArrayList<>(ranges);
+
+        for(int i = 0; i < ranges; i++) {
+            //the ranges of ids are split evenly, for dense ids this splits the results evenly as well
+            final int fromId = (int) ((long) length * i / ranges);
+            final int toId = (int) ((long) length * (i + 1) / ranges);
+
+            tasks.add(new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    return lookUp(ids, fromId, toId, index, 16);
+                }
+            });
+        }
+
+        List<T> result = new ArrayList<>(count);
+
+        for(List<T> part : invokeAll(tasks)) {
+            result.addAll(part);
+        }
+
+        return result;
+    }
+
+    //helper method that returns the number of ranges a query of the size is split into
+    private int countRanges(int size) {
+        if(pool == null || size < threshold * 2L) {
+            return 1;
+        }
+
+        //up to four ranges per thread, so that threads that are done early can help with the remaining ranges
+        return (int) Math.min(pool.getParallelism() * 4L, size / threshold);
+    }
+
+    //helper method that looks up the entities of the IDs in the range
+    private static <T> List<T> lookUp(BitSet ids, int fromId, int toId, IdIndex<T> index, int capacity) {
+        List<T> result = new ArrayList<>(capacity);
+
+        for(int id = ids.nextSetBit(fromId); id >= 0 && id < toId; id = ids.nextSetBit(id + 1)) {
+            result.add(index.get(id));
+        }
+
+        return result;
+    }
+
+    //helper method that executes the tasks on the pool and returns the results in the order of the tasks
+    private <R> List<R> invokeAll(List<Callable<R>> tasks) {
+        List<R> results = new ArrayList<>(tasks.size());
+
+        try {
+            for(Future<R> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The query was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.query;
+
+import filmdistribution.film.DistributionMovie;
+import filmdistribution.table.MovieTable;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A QuerySource gives a {@link MovieQuery} access to the indexes of a database. Every search returns a new set that
+ * can be changed by the query, the counts are computed from the indexes without creating a set, so that the query
+ * can estimate how many copies a step finds before the step is executed.
+ *
+ * Title searches return title ids, all other searches return the IDs of the copies.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.Database#query()
+ */
+public interface QuerySource {
+    //the age returned for an unknown user, a real age can be negative if the year of birth is in the future
+    int UNKNOWN_USER = Integer.MIN_VALUE;
+
+    /**
+     * This method searches the titles whose genre contains the text.
+     *
+     * @param genre - the search text
+     * @return the title ids
+     */
+    BitSet searchGenreTitles(String genre);
+
+    /**
+     * This method searches the titles of a combination of genres.
+     *
+     * @param expression - a genre or a combination of genres with AND and OR
+     * @return the title ids
+     */
+    BitSet searchGenreExpressionTitles(String expression);
+
+    /**
+     * This method searches the titles that have a director or actor whose name contains the text.
+     *
+     * @param name - the search text
+     * @return the title ids
+     */
+    BitSet searchNameTitles(String name);
+
+    /**
+     * This method counts the copies of the titles.
+     *
+     * @param titleIds - the title ids
+     * @return number of copies
+     */
+    int countCopies(BitSet titleIds);
+
+    /**
+     * This method expands the titles to their copies.
+     *
+     * @param titleIds - the title ids
+     * @return the IDs of the copies
+     */
+    BitSet copiesOf(BitSet titleIds);
+
+    /**
+     * This method searches the copies with an FSK age rating in the range.
+     *
+     * @param lowerBound - the lowest FSK age rating
+     * @param upperBound - the highest FSK age rating
+     * @return the IDs of the copies
+     */
+    BitSet searchFsk(int lowerBound, int upperBound);
+
+    /**
+     * This method counts the copies with an FSK age rating in the range.
+     *
+     * @param lowerBound - the lowest FSK age rating
+     * @param upperBound - the highest FSK age rating
+     * @return number of copies
+     */
+    int countFsk(int lowerBound, int upperBound);
+
+    /**
+     * This method searches the copies that are available at the moment.
+     *
+     * @return the IDs of the copies
+     */
+    BitSet searchAvailable();
+
+    /**
+     * This method counts the copies that are available at the moment.
+     *
+     * @return number of copies
+     */
+    int countAvailable();
+
+    /**
+     * This method returns the columns of all copies.
+     *
+     * @return the movie table
+     */
+    MovieTable getMovieTable();
+
+    /**
+     * This method returns the copy with the ID.
+     *
+     * @param movieId - the ID of the copy
+     * @return the copy or null
+     */
+    DistributionMovie getMovie(int movieId);
+
+    /**
+     * This method returns the copies with the IDs in the set.
+     *
+     * @param movieIds - the IDs of the copies
+     * @return the copies sorted by ID
+     */
+    List<DistributionMovie> toMovieList(BitSet movieIds);
+
+    /**
+     * This method returns the executor for the scans of the movie table.
+     *
+     * @return the query executor
+     */
+    QueryExecutor getQueryExecutor();
+
+    /**
+     * This method returns the age of a user.
+     *
+     * @param userId - the ID of the user
+     * @return the age of the user or {@link #UNKNOWN_USER} if there is no user with the ID
+     */
+    int getUserAge(int userId);
+}
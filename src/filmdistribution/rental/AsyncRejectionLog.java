@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.rental;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This log writes the rejected rentals into a stream. The messages are formatted and written by a background thread,
+ * so the threads that rent movies never wait for the lock of the stream.
+ *
+ * The rejections are buffered in a bounded queue. If the queue is full the rejection is not logged but counted as
+ * dropped, so a slow stream can never slow down the rentals. Rejections that are logged after the log was closed are
+ * dropped as well.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class AsyncRejectionLog implements Closeable {
+    //the default number of rejections that can wait in the queue
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    //marks the end of the log in the queue
+    private static final Rejection END = new Rejection(0, 0, null, null, null);
+
+    //the queue of the rejections and the thread that writes them
+    private final BlockingQueue<Rejection> queue;
+    private final Thread writer;
+    //the number of rejections that were not logged because the queue was full
+    private final AtomicLong dropped;
+    //guards the attributes below, so no rejection is added to the queue after the end of the log
+    private final Object lock;
+    //the number of rejections added to the queue and written by the background thread
+    private long logged;
+    private long written;
+    private boolean closed;
+
+    /**
+     * Constructs a new log with the default capacity.
+     *
+     * @param out - the stream the messages are written to
+     */
+    public AsyncRejectionLog(PrintStream out) {
+        this(out, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new log.
+     *
+     * @param out - the stream the messages are written to
+     * @param capacity - the number of rejections that can wait in the queue
+     */
+    public AsyncRejectionLog(final PrintStream out, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.dropped = new AtomicLong();
+        this.lock = new Object();
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeMessages(out);
+            }
+        }, "rejection-log");
+
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * This method logs a rejected rental, the message is written later by the background thread.
+     *
+     * @param userId - the ID of the user
+     * @param movieId - the ID of the movie
+     * @param userName - the name of the user, null if the user is unknown
+     * @param title - the title of the movie, null if the movie is unknown
+     * @param status - the reason why the rental was rejected
+     */
+    public void log(int userId, int movieId, String userName, String title, RentalStatus status) {
+        Rejection rejection = new Rejection(userId, movieId, userName, title, status);
+
+        synchronized(lock) {
+            //offer never waits, so the lock is only held for a moment
+            if(!closed && queue.offer(rejection)) {
+                logged++;
+                return;
+            }
+        }
+
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * This method waits until all rejections that were logged before are written to the stream.
+     */
+    public void flush() {
+        synchronized(lock) {
+            long target = logged;
+
+            try {
+                while(written < target && writer.isAlive()) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * This method returns the number of rejections that were not logged, because the queue was full or the log was
+     * closed.
+     *
+     * @return number of dropped rejections
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes all waiting messages and stops the background thread.
+     */
+    @Override
+    public void close() {
+        synchronized(lock) {
+            if(closed) {
+                return;
+            }
+
+            closed = true;
+        }
+
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //helper method of the background thread that writes the messages until the end is taken from the queue
+    private void writeMessages(PrintStream out) {
+        StringBuilder message = new StringBuilder(128);
+
+        try {
+            for(Rejection rejection = queue.take(); rejection != END; rejection = queue.take()) {
+                message.setLength(0);
+                rejection.appendTo(message);
+                out.println(message);
+
+                synchronized(lock) {
+                    written++;
+                    lock.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            //a waiting flush must not wait for a stopped thread
+            synchronized(lock) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    //a rejected rental waiting in the queue
+    private static final class Rejection {
+        private final int userId;
+        private final int movieId;
+        private final String userName;
+        private final String title;
+        private final RentalStatus status;
+
+        Rejection(int userId, int movieId, String userName, String title, RentalStatus status) {
+            this.userId = userId;
+            this.movieId = movieId;
+            this.userName = userName;
+            this.title = title;
+            this.status = status;
+        }
+
+        //helper method that appends the message of the rejection
+        void appendTo(StringBuilder message) {
+            if(userName == null || title == null) {
+                message.append("User-ID ").append(userId).append(" can not rent the Movie-ID ").append(movieId)
+                        .append(": ").append(status);
+            } else {
+                message.append("User ").append(userName).append(" is not allowed to rent the movie '").append(title)
+                        .append("' with Movie-ID ").append(movieId).append(" (").append(status).append(')');
+            }
+        }
+    }
+}
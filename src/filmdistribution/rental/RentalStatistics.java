@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.rental;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts the results of the rentals by status, so it can be seen how many rentals were rejected and why.
+ *
+ * The counters are striped ({@link LongAdder}), so many threads can count at the same time without contention.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class RentalStatistics {
+    //all statuses, the ordinal is the index of the counter
+    private static final RentalStatus[] STATUSES = RentalStatus.values();
+
+    //one counter per status
+    private final LongAdder[] counters;
+
+    /**
+     * Constructs new statistics with all counters at 0.
+     */
+    public RentalStatistics() {
+        this.counters = new LongAdder[STATUSES.length];
+
+        for(int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * This method counts a rental with the status.
+     *
+     * @param status - the status of the rental
+     */
+    public void record(RentalStatus status) {
+        counters[status.ordinal()].increment();
+    }
+
+    /**
+     * This method returns the number of rentals with the status.
+     *
+     * @param status - the status
+     * @return number of rentals
+     */
+    public long getCount(RentalStatus status) {
+        return counters[status.ordinal()].sum();
+    }
+
+    /**
+     * This method returns the number of rejected rentals, these are all rentals that are not rented.
+     *
+     * @return number of rejected rentals
+     */
+    public long getRejections() {
+        long rejections = 0;
+
+        for(RentalStatus status : STATUSES) {
+            if(!status.isRented()) {
+                rejections += getCount(status);
+            }
+        }
+
+        return rejections;
+    }
+
+    /**
+     * This method sets all counters back to 0.
+     */
+    public void reset() {
+        for(LongAdder counter : counters) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Returns the counters of all statuses.
+     *
+     * @return A string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(160);
+
+        for(RentalStatus status : STATUSES) {
+            if(builder.length() > 0) {
+                builder.append(", ");
+            }
+
+            builder.append(status).append('=').append(getCount(status));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.rental;
+
+/**
+ * The result of renting one movie, it says if the movie was rented and why not.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public enum RentalStatus {
+    //the movie is rented by the user now
+    RENTED,
+    //the user is too young for the FSK rating of the movie
+    AGE_LIMIT,
+    //the user has already rented the maximum number of movies
+    QUOTA_EXHAUSTED,
+    //the movie is already rented
+    UNAVAILABLE,
+    //there is no movie with the ID
+    UNKNOWN_MOVIE,
+    //there is no user with the ID
+    UNKNOWN_USER,
+    //the movie is more than once in the same basket, only the first one is rented
+    DUPLICATE,
+    //the movie could have been rented, but another movie of the all-or-nothing basket could not
+    ROLLED_BACK,
+    //the rental could not be written into the journal, so it was undone
+    JOURNAL_FAILED;
+
+    /**
+     * This method checks if the movie was rented.
+     *
+     * @return true if the status is {@link #RENTED} - false if not
+     */
+    public boolean isRented() {
+        return this == RENTED;
+    }
+}
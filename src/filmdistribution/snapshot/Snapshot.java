@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.snapshot;
+
+import filmdistribution.film.DistributionMovie;
+import filmdistribution.person.User;
+
+import java.util.List;
+
+/**
+ * A snapshot contains the whole state of a database: the copies of the movies with their availability, the users
+ * with their rented movies, the next IDs of the id allocators and the sequence number of the last rental journal
+ * record that is contained in the snapshot.
+ *
+ * The copies and users of a snapshot that was read from a file are new objects that are not yet inserted into a
+ * database.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.snapshot.SnapshotWriter
+ * @see filmdistribution.snapshot.SnapshotReader
+ */
+public class Snapshot {
+    //the next IDs of the id allocators
+    private final int nextMovieId;
+    private final int nextUserId;
+    //the sequence number of the last journal record that is contained in the snapshot
+    private final long journalSequence;
+    //the copies of the movies and the users
+    private final List<DistributionMovie> movies;
+    private final List<User> users;
+
+    /**
+     * Constructs a new snapshot.
+     *
+     * @param nextMovieId - the next ID of the movie id allocator
+     * @param nextUserId - the next ID of the user id allocator
+     * @param journalSequence - the sequence number of the last journal record that is contained in the snapshot, 0 if
+     *                        there is no journal
+     * @param movies - the copies of the movies
+     * @param users - the users, the rented movies have to be in the copies of the movies
+     */
+    public Snapshot(int nextMovieId, int nextUserId, long journalSequence, List<DistributionMovie> movies,
+                    List<User> users) {
+        this.nextMovieId = nextMovieId;
+        this.nextUserId = nextUserId;
+        this.journalSequence = journalSequence;
+        this.movies = movies;
+        this.users = users;
+    }
+
+    /**
+     * This method returns the next ID of the movie id allocator.
+     *
+     * @return the next movie ID
+     */
+    public int getNextMovieId() {
+        return nextMovieId;
+    }
+
+    /**
+     * This method returns the next ID of the user id allocator.
+     *
+     * @return the next user ID
+     */
+    public int getNextUserId() {
+        return nextUserId;
+    }
+
+    /**
+     * This method returns the sequence number of the last journal record that is contained in the snapshot. Only the
+     * records after it have to be replayed.
+     *
+     * @return the journal sequence number
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     * This method returns the copies of the movies.
+     *
+     * @return the copies of the movies
+     */
+    public List<DistributionMovie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * This method returns the users.
+     *
+     * @return the users
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+}
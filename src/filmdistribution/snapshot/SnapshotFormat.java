@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.snapshot;
+
+/**
+ * The constants of the snapshot file format. A snapshot file is built like this, all numbers are varints and all
+ * references are positions in the tables that were written before:
+ *
+ * - magic number (4 bytes) and version
+ * - next movie ID and next user ID
+ * - the sequence number of the last rental journal record in the snapshot
+ * - the string dictionary: count, then every string length-prefixed (titles, genres and names)
+ * - the persons: count, then surname and lastname of every director and actor as references to the strings
+ * - the titles: count, then title, year, genre, fsk, director and actors as references to the strings and persons
+ * - the copies: count, then ID (difference to the previous ID), title reference and flags (available)
+ * - the users: count, then ID (difference to the previous ID), type, surname, lastname, year of birth and the IDs of
+ *   the rented movies
+ * - the CRC32 checksum of all bytes before (4 bytes)
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+final class SnapshotFormat {
+    //"FDSN" - the first bytes of every snapshot file
+    static final int MAGIC = 0x4644534E;
+    //the version of the format, has to be increased on every change of the format
+    static final int VERSION = 1;
+
+    //the flags of a copy
+    static final int FLAG_AVAILABLE = 1;
+
+    //no instances, only constants
+    private SnapshotFormat() {
+    }
+}
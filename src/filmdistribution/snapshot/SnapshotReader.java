@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.snapshot;
+
+import filmdistribution.film.DistributionMovie;
+import filmdistribution.film.Movie;
+import filmdistribution.index.IntHashIndex;
+import filmdistribution.io.MappedBinaryReader;
+import filmdistribution.person.Human;
+import filmdistribution.person.Premiumuser;
+import filmdistribution.person.Standarduser;
+import filmdistribution.person.User;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads a snapshot from a binary file written by {@link SnapshotWriter}. The file is mapped into memory.
+ *
+ * Every string, person and title is created only once, all copies of a title share the same movie. The checksum of
+ * the file is checked before the snapshot is returned.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.snapshot.SnapshotWriter
+ */
+public class SnapshotReader {
+
+    /**
+     * This method reads the snapshot from the file.
+     *
+     * @param file - the file
+     * @return the snapshot
+     * @throws SnapshotFormatException if the file is not a snapshot, has an unknown version or is corrupt
+     * @throws IOException if the file can not be read
+     */
+    public Snapshot read(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedBinaryReader in = new MappedBinaryReader(channel);
+
+            if(in.getSize() < 4 || in.readInt() != SnapshotFormat.MAGIC) {
+                throw new SnapshotFormatException(0, "the file is not a snapshot");
+            }
+
+            int version = in.readVarInt();
+
+            if(version != SnapshotFormat.VERSION) {
+                throw new SnapshotFormatException(in.getPosition(), "unknown version " + version);
+            }
+
+            int nextMovieId = in.readVarInt();
+            int nextUserId = in.readVarInt();
+            long journalSequence = in.readVarLong();
+
+            String[] strings = readStrings(in);
+            Human[] persons = readPersons(in, strings);
+            Movie[] titles = readTitles(in, strings, persons);
+
+            IntHashIndex<DistributionMovie> movieIndex = new IntHashIndex<>();
+            List<DistributionMovie> movies = readMovies(in, titles, movieIndex);
+            List<User> users = readUsers(in, strings, movieIndex);
+
+            int checksum = in.getChecksum();
+
+            if(in.readInt() != checksum) {
+                throw new SnapshotFormatException(in.getPosition(), "the checksum is wrong, the file is corrupt");
+            }
+
+            if(in.getPosition() != in.getSize()) {
+                throw new SnapshotFormatException(in.getPosition(), "unexpected data after the checksum");
+            }
+
+            return new Snapshot(nextMovieId, nextUserId, journalSequence, movies, users);
+        }
+    }
+
+    //helper method that reads the string dictionary
+    private static String[] readStrings(MappedBinaryReader in) throws IOException {
+        String[] strings = new String[readCount(in)];
+
+        for(int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString();
+        }
+
+        return strings;
+    }
+
+    //helper method that reads the persons
+    private static Human[] readPersons(MappedBinaryReader in, String[] strings) throws IOException {
+        Human[] persons = new Human[readCount(in)];
+
+        for(int i = 0; i < persons.length; i++) {
+            persons[i] = new Human(reference(in, strings), reference(in, strings));
+        }
+
+        return persons;
+    }
+
+    //helper method that reads the titles
+    private static Movie[] readTitles(MappedBinaryReader in, String[] strings, Human[] persons) throws IOException {
+        Movie[] titles = new Movie[readCount(in)];
+
+        for(int i = 0; i < titles.length; i++) {
+            String title = reference(in, strings);
+            int publishingYear = in.readSignedVarInt();
+            String genre = reference(in, strings);
+            int fsk = in.readSignedVarInt();
+            Human director = reference(in, persons);
+            Human[] actors = new Human[readCount(in)];
+
+            for(int j = 0; j < actors.length; j++) {
+                actors[j] = reference(in, persons);
+            }
+
+            titles[i] = new Movie(title, publishingYear, genre, fsk, director, actors);
+        }
+
+        return titles;
+    }
+
+    //helper method that reads the copies of the movies
+    private static List<DistributionMovie> readMovies(MappedBinaryReader in, Movie[] titles,
+                                                      IntHashIndex<DistributionMovie> movieIndex) throws IOException {
+        int count = readCount(in);
+        List<DistributionMovie> movies = new ArrayList<>(count);
+        int id = 0;
+
+        for(int i = 0; i < count; i++) {
+            id += in.readSignedVarInt();
+            DistributionMovie movie = new DistributionMovie(id, reference(in, titles));
+
+            //the movie has no listener yet, the database reads the availability when the movie is inserted
+            movie.setMovieAvailable((in.readByte() & SnapshotFormat.FLAG_AVAILABLE) != 0);
+
+            movies.add(movie);
+            movieIndex.put(id, movie);
+        }
+
+        return movies;
+    }
+
+    //helper method that reads the users and their rented movies
+    private static List<User> readUsers(MappedBinaryReader in, String[] strings,
+                                        IntHashIndex<DistributionMovie> movieIndex) throws IOException {
+        int count = readCount(in);
+        List<User> users = new ArrayList<>(count);
+        int id = 0;
+
+        for(int i = 0; i < count; i++) {
+            id += in.readSignedVarInt();
+            long position = in.getPosition();
+            int type = in.readVarInt();
+            String surname = reference(in, strings);
+            String lastname = reference(in, strings);
+            int birthyear = in.readSignedVarInt();
+            User user;
+
+            if(type == User.USER_STANDARD) {
+                user = new Standarduser(id, surname, lastname, birthyear);
+            } else if(type == User.USER_PREMIUM) {
+                user = new Premiumuser(id, surname, lastname, birthyear);
+            } else {
+                throw new SnapshotFormatException(position, "unknown user type " + type);
+            }
+
+            int rented = readCount(in);
+            int movieId = 0;
+
+            for(int j = 0; j < rented; j++) {
+                movieId += in.readSignedVarInt();
+                DistributionMovie movie = movieIndex.get(movieId);
+
+                if(movie == null) {
+                    throw new SnapshotFormatException(in.getPosition(), "unknown rented movie " + movieId);
+                }
+
+                user.rentMovie(movie);
+            }
+
+            users.add(user);
+        }
+
+        return users;
+    }
+
+    //helper method that reads a count and checks that it is possible
+    private static int readCount(MappedBinaryReader in) throws IOException {
+        long position = in.getPosition();
+        int count = in.readVarInt();
+
+        //every element needs at least one byte, so a corrupt count can not allocate huge arrays
+        if(count < 0 || count > in.getSize() - in.getPosition()) {
+            throw new SnapshotFormatException(position, "invalid count " + count);
+        }
+
+        return count;
+    }
+
+    //helper method that reads a reference and returns the referenced element
+    private static <T> T reference(MappedBinaryReader in, T[] table) throws IOException {
+        long position = in.getPosition();
+        int index = in.readVarInt();
+
+        if(index < 0 || index >= table.length) {
+            throw new SnapshotFormatException(position, "invalid reference " + index);
+        }
+
+        return table[index];
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.snapshot;
+
+import filmdistribution.film.DistributionMovie;
+import filmdistribution.film.Movie;
+import filmdistribution.io.ChannelBinaryWriter;
+import filmdistribution.person.Human;
+import filmdistribution.person.User;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class writes a snapshot into a binary file (see {@link SnapshotFormat}).
+ *
+ * Every string, person and title is written only once, the copies and users only contain references. So the file is
+ * much smaller than the text dump of the database and can be read without parsing any text.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.snapshot.SnapshotReader
+ */
+public class SnapshotWriter {
+    //the dictionary of the strings, the position in the list is the reference
+    private final List<String> strings;
+    private final Map<String, Integer> stringIds;
+    //the persons, the position in the list is the reference
+    private final List<Human> persons;
+    private final Map<String, Integer> personIds;
+    //the titles, the position in the list is the reference
+    private final List<Movie> titles;
+    private final Map<Movie, Integer> titleIds;
+
+    /**
+     * Constructs a new writer.
+     */
+    public SnapshotWriter() {
+        this.strings = new ArrayList<>();
+        this.stringIds = new HashMap<>();
+        this.persons = new ArrayList<>();
+        this.personIds = new HashMap<>();
+        this.titles = new ArrayList<>();
+        this.titleIds = new HashMap<>();
+    }
+
+    /**
+     * This method writes the snapshot into the file, an existing file is replaced. The snapshot is written into a
+     * temporary file in the same directory first, forced to the storage device and then renamed atomically, so an
+     * existing snapshot is never damaged: after a crash the file is either the old or the new snapshot.
+     *
+     * @param file - the file
+     * @param snapshot - the snapshot
+     * @return the size of the file in bytes
+     * @throws IOException if the file can not be written
+     */
+    public long write(Path file, Snapshot snapshot) throws IOException {
+        clear();
+
+        //the dictionaries have to be complete before the first reference is written
+        for(DistributionMovie movie : snapshot.getMovies()) {
+            addTitle(movie.getMovie());
+        }
+
+        for(User user : snapshot.getUsers()) {
+            addString(user.getSurname());
+            addString(user.getLastname());
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString() + ".", ".tmp");
+        boolean moved = false;
+
+        try {
+            long size = writeFile(temporary, snapshot);
+
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+            syncDirectory(directory);
+
+            return size;
+        } finally {
+            if(!moved) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    //helper method that writes the snapshot into the file and forces it to the storage device
+    private long writeFile(Path file, Snapshot snapshot) throws IOException {
+        try(ChannelBinaryWriter out = new ChannelBinaryWriter(file)) {
+            out.writeInt(SnapshotFormat.MAGIC);
+            out.writeVarInt(SnapshotFormat.VERSION);
+            out.writeVarInt(snapshot.getNextMovieId());
+            out.writeVarInt(snapshot.getNextUserId());
+            out.writeVarLong(snapshot.getJournalSequence());
+
+            writeDictionaries(out);
+            writeMovies(out, snapshot.getMovies());
+            writeUsers(out, snapshot.getUsers());
+
+            out.writeInt(out.getChecksum());
+            out.sync();
+
+            return out.getBytesWritten();
+        }
+    }
+
+    //helper method that forces the rename to the storage device, not every platform can open a directory
+    private static void syncDirectory(Path directory) {
+        try(FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            //the snapshot itself is on the storage device, only the rename may be lost on a crash
+        }
+    }
+
+    //helper method that writes the strings, persons and titles
+    private void writeDictionaries(ChannelBinaryWriter out) throws IOException {
+        out.writeVarInt(strings.size());
+
+        for(String string : strings) {
+            out.writeString(string);
+        }
+
+        out.writeVarInt(persons.size());
+
+        for(Human person : persons) {
+            out.writeVarInt(stringIds.get(person.getSurname()));
+            out.writeVarInt(stringIds.get(person.getLastname()));
+        }
+
+        out.writeVarInt(titles.size());
+
+        for(Movie title : titles) {
+            out.writeVarInt(stringIds.get(title.getTitle()));
+            out.writeSignedVarInt(title.getPublishingYear());
+            out.writeVarInt(stringIds.get(title.getGenre()));
+            out.writeSignedVarInt(title.getFsk());
+            out.writeVarInt(personIds.get(personKey(title.getDirector())));
+            out.writeVarInt(title.getActors().length);
+
+            for(Human actor : title.getActors()) {
+                out.writeVarInt(personIds.get(personKey(actor)));
+            }
+        }
+    }
+
+    //helper method that writes the copies of the movies
+    private void writeMovies(ChannelBinaryWriter out, List<DistributionMovie> movies) throws IOException {
+        out.writeVarInt(movies.size());
+        int previousId = 0;
+
+        for(DistributionMovie movie : movies) {
+            //the ids are usually sequential, so the difference needs only one byte
+            out.writeSignedVarInt(movie.getId() - previousId);
+            out.writeVarInt(titleIds.get(movie.getMovie()));
+            out.writeByte(movie.isMovieAvailable() ? SnapshotFormat.FLAG_AVAILABLE : 0);
+            previousId = movie.getId();
+        }
+    }
+
+    //helper method that writes the users and their rented movies
+    private void writeUsers(ChannelBinaryWriter out, List<User> users) throws IOException {
+        out.writeVarInt(users.size());
+        int previousId = 0;
+
+        for(User user : users) {
+            out.writeSignedVarInt(user.getId() - previousId);
+            out.writeVarInt(user.getType());
+            out.writeVarInt(stringIds.get(user.getSurname()));
+            out.writeVarInt(stringIds.get(user.getLastname()));
+            out.writeSignedVarInt(user.getBirthyear());
+
+            int[] rentedMovieIds = user.getRentedMovieIds();
+            out.writeVarInt(rentedMovieIds.length);
+            int previousMovieId = 0;
+
+            //the ids are sorted, so the differences are small
+            for(int movieId : rentedMovieIds) {
+                out.writeSignedVarInt(movieId - previousMovieId);
+                previousMovieId = movieId;
+            }
+
+            previousId = user.getId();
+        }
+    }
+
+    //helper method that adds the title and all its strings and persons to the dictionaries
+    private void addTitle(Movie title) {
+        if(titleIds.containsKey(title)) {
+            return;
+        }
+
+        titleIds.put(title, titles.size());
+        titles.add(title);
+
+        addString(title.getTitle());
+        addString(title.getGenre());
+        addPerson(title.getDirector());
+
+        for(Human actor : title.getActors()) {
+            addPerson(actor);
+        }
+    }
+
+    //helper method that adds the person and the names to the dictionaries
+    private void addPerson(Human person) {
+        String key = personKey(person);
+
+        if(personIds.containsKey(key)) {
+            return;
+        }
+
+        personIds.put(key, persons.size());
+        persons.add(person);
+
+        addString(person.getSurname());
+        addString(person.getLastname());
+    }
+
+    //helper method that adds the string to the dictionary
+    private void addString(String string) {
+        if(!stringIds.containsKey(string)) {
+            stringIds.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    //helper method that clears the dictionaries of the last snapshot
+    private void clear() {
+        strings.clear();
+        stringIds.clear();
+        persons.clear();
+        personIds.clear();
+        titles.clear();
+        titleIds.clear();
+    }
+
+    //helper method that returns the key of a person, the same key as in the person registry
+    private static String personKey(Human person) {
+        return person.getSurname() + '\u0000' + person.getLastname();
+    }
+}
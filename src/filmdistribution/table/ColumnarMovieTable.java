@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.table;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * This table stores every column in its own primitive array (struct of arrays). A scan only reads the array of the
+ * scanned column from the beginning to the end, so it does not follow any references and uses the CPU caches much
+ * better than a loop over the movie objects. The simple loops can also be vectorized by the JIT.
+ *
+ * The year is stored as short, so the scanned column is as small as possible.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.table.MovieTable
+ */
+public class ColumnarMovieTable implements MovieTable {
+    //the default capacity of an empty table
+    private static final int DEFAULT_CAPACITY = 64;
+
+    //the columns, the position is the row
+    private int[] movieIds;
+    private short[] years;
+    //the number of rows, volatile so that the scanning threads see the complete rows
+    private volatile int size;
+
+    /**
+     * Constructs a new empty table.
+     */
+    public ColumnarMovieTable() {
+        this.movieIds = new int[DEFAULT_CAPACITY];
+        this.years = new short[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public void add(int movieId, int publishingYear) {
+        int row = size;
+
+        if(row == movieIds.length) {
+            grow(row + (row >> 1) + 1);
+        }
+
+        movieIds[row] = movieId;
+        years[row] = (short) publishingYear;
+
+        size = row + 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void scanYear(int from, int to, int fromRow, int toRow, BitSet result) {
+        short[] column = years;
+        int[] ids = movieIds;
+
+        for(int row = fromRow; row < toRow; row++) {
+            int year = column[row];
+
+            if(year >= from && year <= to) {
+                result.set(ids[row]);
+            }
+        }
+    }
+
+    //helper method that grows all columns
+    private void grow(int newCapacity) {
+        movieIds = Arrays.copyOf(movieIds, newCapacity);
+        years = Arrays.copyOf(years, newCapacity);
+    }
+}
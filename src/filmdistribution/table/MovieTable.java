@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.table;
+
+import java.util.BitSet;
+
+/**
+ * A MovieTable stores the attributes of the copies that are scanned as primitive columns, one row per copy. At the
+ * moment this is the publishing year, which has no index, the other attributes are searched with the indexes of the
+ * database.
+ *
+ * The {@link filmdistribution.film.DistributionMovie} objects stay the source of the data, the table is a copy that is
+ * filled when the movies are inserted. A scan runs over the rows from fromRow up to (toRow - 1) and sets the IDs of the
+ * matching movies in the result, so a table can be scanned in parts.
+ *
+ * The table is not thread safe for inserts, but it can be scanned by many threads at the same time.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ *
+ * @see filmdistribution.table.ColumnarMovieTable
+ */
+public interface MovieTable {
+    /**
+     * This method appends a row for a copy.
+     *
+     * @param movieId - the ID of the copy
+     * @param publishingYear - the year when the movie was published
+     */
+    void add(int movieId, int publishingYear);
+
+    /**
+     * This method returns the number of rows.
+     *
+     * @return number of rows
+     */
+    int size();
+
+    /**
+     * This method finds the copies that were published in the range of years.
+     *
+     * @param from - the first year of the range
+     * @param to - the last year of the range
+     * @param fromRow - the first row that is scanned
+     * @param toRow - the row after the last row that is scanned
+     * @param result - the IDs of the matching copies are set in this set
+     */
+    void scanYear(int from, int to, int fromRow, int toRow, BitSet result);
+}
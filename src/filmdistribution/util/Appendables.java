@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.util;
+
+import java.io.IOException;
+
+/**
+ * This class has helper methods to write text into an {@link Appendable} without creating temporary strings where
+ * the target supports it.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public final class Appendables {
+    //the line separator of the platform, the same as %n of String.format
+    public static final String LINE_SEPARATOR = System.lineSeparator();
+
+    //no instances, only static helper methods
+    private Appendables() {
+    }
+
+    /**
+     * This method appends the decimal representation of the number.
+     *
+     * @param out - the target of the text
+     * @param value - the number
+     * @throws IOException if the target can not be written
+     */
+    public static void append(Appendable out, int value) throws IOException {
+        if(out instanceof StringBuilder) {
+            //no temporary string needed
+            ((StringBuilder) out).append(value);
+        } else if(out instanceof NumberAppendable) {
+            //the target writes the digits itself, e.g. directly into its buffer
+            ((NumberAppendable) out).append(value);
+        } else {
+            out.append(Integer.toString(value));
+        }
+    }
+
+    /**
+     * This method appends the line separator of the platform.
+     *
+     * @param out - the target of the text
+     * @throws IOException if the target can not be written
+     */
+    public static void appendLine(Appendable out) throws IOException {
+        out.append(LINE_SEPARATOR);
+    }
+}
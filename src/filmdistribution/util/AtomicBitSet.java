@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is a bit set that can be changed by many threads at the same time. Every bit is changed with a compare and set
+ * of its word, so no lock is needed.
+ *
+ * The words are stored in pages of a fixed size. If the set grows only new pages are added, the existing pages are
+ * never copied, so a bit that is changed while the set grows can not get lost.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class AtomicBitSet {
+    //the number of words per page (65536 bits)
+    private static final int PAGE_WORDS = 1024;
+    //shift and mask to calculate the page and the word in the page of a word index
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_MASK = PAGE_WORDS - 1;
+
+    //the pages, only replaced by a bigger array while holding the lock
+    private volatile AtomicLongArray[] pages;
+
+    /**
+     * Constructs a new empty set.
+     */
+    public AtomicBitSet() {
+        this.pages = new AtomicLongArray[0];
+    }
+
+    /**
+     * This method sets the bit to true.
+     *
+     * @param bit - the index of the bit
+     * @return true if the bit was changed by this call - false if it was already set
+     */
+    public boolean set(int bit) {
+        AtomicLongArray page = page(bit >>> 6, true);
+        int word = (bit >>> 6) & PAGE_MASK;
+        long mask = 1L << bit;
+        long value = page.get(word);
+
+        while((value & mask) == 0) {
+            if(page.compareAndSet(word, value, value | mask)) {
+                return true;
+            }
+
+            value = page.get(word);
+        }
+
+        return false;
+    }
+
+    /**
+     * This method sets the bit to false.
+     *
+     * @param bit - the index of the bit
+     * @return true if the bit was changed by this call - false if it was not set
+     */
+    public boolean clear(int bit) {
+        AtomicLongArray page = page(bit >>> 6, false);
+
+        if(page == null) {
+            return false;
+        }
+
+        int word = (bit >>> 6) & PAGE_MASK;
+        long mask = 1L << bit;
+        long value = page.get(word);
+
+        while((value & mask) != 0) {
+            if(page.compareAndSet(word, value, value & ~mask)) {
+                return true;
+            }
+
+            value = page.get(word);
+        }
+
+        return false;
+    }
+
+    /**
+     * This method changes the bit.
+     *
+     * @param bit - the index of the bit
+     * @param value - the new value of the bit
+     * @return true if the bit was changed by this call - false if it already had the value
+     */
+    public boolean set(int bit, boolean value) {
+        return value ? set(bit) : clear(bit);
+    }
+
+    /**
+     * This method returns the value of the bit.
+     *
+     * @param bit - the index of the bit
+     * @return true if the bit is set - false if not
+     */
+    public boolean get(int bit) {
+        return (word(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    /**
+     * This method returns the word with the index, the word contains the bits from 64 * index to 64 * index + 63.
+     *
+     * @param wordIndex - the index of the word
+     * @return the bits of the word
+     */
+    public long word(int wordIndex) {
+        AtomicLongArray page = page(wordIndex, false);
+
+        return page == null ? 0 : page.get(wordIndex & PAGE_MASK);
+    }
+
+    /**
+     * This method returns the number of words that can contain set bits.
+     *
+     * @return the number of words
+     */
+    public int wordCount() {
+        return pages.length * PAGE_WORDS;
+    }
+
+    /**
+     * This method returns the index of the next set bit, starting at the bit fromIndex.
+     *
+     * @param fromIndex - the first bit that is checked
+     * @return the index of the next set bit or -1 if there is none
+     */
+    public int nextSetBit(int fromIndex) {
+        int wordIndex = fromIndex >>> 6;
+        int words = wordCount();
+
+        if(wordIndex >= words) {
+            return -1;
+        }
+
+        long word = word(wordIndex) & (-1L << fromIndex);
+
+        while(true) {
+            if(word != 0) {
+                return wordIndex * 64 + Long.numberOfTrailingZeros(word);
+            }
+
+            if(++wordIndex >= words) {
+                return -1;
+            }
+
+            word = word(wordIndex);
+        }
+    }
+
+    /**
+     * This method returns the number of set bits.
+     *
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        int count = 0;
+
+        for(AtomicLongArray page : pages) {
+            for(int i = 0; i < PAGE_WORDS; i++) {
+                count += Long.bitCount(page.get(i));
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * This method copies the set bits into a (not thread safe) bit set. The copy is not atomic, bits that are changed
+     * during the copy may or may not be part of the copy.
+     *
+     * @return a copy of the set
+     */
+    public BitSet toBitSet() {
+        long[] words = new long[wordCount()];
+
+        for(int i = 0; i < words.length; i++) {
+            words[i] = word(i);
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    //helper method that returns the page of the word, the set grows if create is true
+    private AtomicLongArray page(int wordIndex, boolean create) {
+        AtomicLongArray[] current = pages;
+        int pageIndex = wordIndex >>> PAGE_SHIFT;
+
+        if(pageIndex < current.length) {
+            return current[pageIndex];
+        }
+
+        return create ? grow(pageIndex) : null;
+    }
+
+    //helper method that adds pages up to the page index
+    private synchronized AtomicLongArray grow(int pageIndex) {
+        AtomicLongArray[] current = pages;
+
+        if(pageIndex >= current.length) {
+            AtomicLongArray[] bigger = Arrays.copyOf(current, Math.max(pageIndex + 1, current.length * 2));
+
+            for(int i = current.length; i < bigger.length; i++) {
+                bigger[i] = new AtomicLongArray(PAGE_WORDS);
+            }
+
+            pages = bigger;
+            current = bigger;
+        }
+
+        return current[pageIndex];
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.util;
+
+import java.util.Arrays;
+
+/**
+ * This is a hash set of primitive ints with open addressing, so that sets of IDs do not need an Integer object per ID.
+ * Adding, removing and checking a value needs constant time. Removed values do not leave markers behind, the following
+ * values of the probe sequence are moved back instead, so the set never gets slower after many removals.
+ *
+ * The set is not thread safe.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class IntHashSet {
+    //the default capacity of an empty set (must be a power of two)
+    private static final int DEFAULT_CAPACITY = 8;
+
+    //the values, a slot is used if the flag is set
+    private int[] values;
+    private boolean[] used;
+    //the number of values in the set
+    private int size;
+
+    /**
+     * Constructs a new empty set.
+     */
+    public IntHashSet() {
+        this.values = new int[DEFAULT_CAPACITY];
+        this.used = new boolean[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * This method adds the value to the set.
+     *
+     * @param value - the value
+     * @return true if the value was added - false if it was already in the set
+     */
+    public boolean add(int value) {
+        //keep the load factor below 0.5 so that the probe sequences stay short
+        if((size + 1) * 2 > values.length) {
+            resize(values.length * 2);
+        }
+
+        int slot = findSlot(values, used, value);
+
+        if(used[slot]) {
+            return false;
+        }
+
+        values[slot] = value;
+        used[slot] = true;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * This method removes the value from the set.
+     *
+     * @param value - the value
+     * @return true if the value was removed - false if it was not in the set
+     */
+    public boolean remove(int value) {
+        int slot = findSlot(values, used, value);
+
+        if(!used[slot]) {
+            return false;
+        }
+
+        int mask = values.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+
+        //move the following values of the probe sequence into the free slot, if their home slot allows it
+        while(used[next]) {
+            int home = hash(values[next]) & mask;
+
+            if(((next - home) & mask) >= ((next - free) & mask)) {
+                values[free] = values[next];
+                free = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        used[free] = false;
+        size--;
+
+        return true;
+    }
+
+    /**
+     * This method checks if the value is in the set.
+     *
+     * @param value - the value
+     * @return true if the value is in the set - false if not
+     */
+    public boolean contains(int value) {
+        return used[findSlot(values, used, value)];
+    }
+
+    /**
+     * This method returns the number of values in the set.
+     *
+     * @return number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the values of the set sorted in ascending order.
+     *
+     * @return a new array with the values
+     */
+    public int[] toSortedArray() {
+        int[] array = new int[size];
+        int count = 0;
+
+        for(int i = 0; i < values.length; i++) {
+            if(used[i]) {
+                array[count++] = values[i];
+            }
+        }
+
+        Arrays.sort(array);
+
+        return array;
+    }
+
+    //helper method to rehash all values into bigger arrays
+    private void resize(int newCapacity) {
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        values = new int[newCapacity];
+        used = new boolean[newCapacity];
+
+        for(int i = 0; i < oldValues.length; i++) {
+            if(oldUsed[i]) {
+                int slot = findSlot(values, used, oldValues[i]);
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    //helper method that returns the slot of the value or the free slot where the value has to be inserted
+    private static int findSlot(int[] values, boolean[] used, int value) {
+        int mask = values.length - 1;
+        int slot = hash(value) & mask;
+
+        //linear probing, there is always a free slot because of the load factor
+        while(used[slot] && values[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    //helper method to spread sequential ids over the whole table
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
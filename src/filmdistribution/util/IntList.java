@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.util;
+
+import java.util.Arrays;
+
+/**
+ * This is a growable list of primitive ints, so that lists of IDs do not need an Integer object per ID.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class IntList {
+    //the default capacity of an empty list
+    private static final int DEFAULT_CAPACITY = 4;
+
+    //the values and the number of values in the list
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs a new empty list.
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty list that can store initialCapacity values without growing.
+     *
+     * @param initialCapacity - the initial capacity of the list
+     */
+    public IntList(int initialCapacity) {
+        this.values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * This method appends a value at the end of the list.
+     *
+     * @param value - the value that should be appended
+     */
+    public void add(int value) {
+        if(size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+
+        values[size++] = value;
+    }
+
+    /**
+     * This method returns the value at the index.
+     *
+     * @param index - the index of the value
+     * @return the value at the index
+     */
+    public int get(int index) {
+        if(index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return values[index];
+    }
+
+    /**
+     * This method returns the last value of the list.
+     *
+     * @return the last value
+     */
+    public int last() {
+        return get(size - 1);
+    }
+
+    /**
+     * This method returns the number of values in the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method checks if the list is empty.
+     *
+     * @return true if the list has no values - false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * This method returns a copy of the values as an array.
+     *
+     * @return the values of the list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018. Sascha Lutzenberger. All rights reserved.
+ *
+ * This file is part of the project "Objektorientierte Programmierung - SBL 2"
+ *
+ * Redistribution and use in source and binary forms, without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * - The author of this source code has given you the permission to use this
+ *   source code.
+ * - Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * - The code is not used in commercial projects, except you got the permission
+ *   for using the code in any commercial projects from the author.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package filmdistribution.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This pool stores every distinct string only once, so equal strings read from a file (like the genres) share one
+ * object. Unlike String.intern() the pool belongs to its owner and can be garbage collected with it.
+ *
+ * The pool is not thread safe.
+ *
+ * @version 1.0 - 18 Oktober 2026
+ */
+public class StringPool {
+    //the shared strings
+    private final Map<String, String> strings;
+
+    /**
+     * Constructs a new empty pool.
+     */
+    public StringPool() {
+        this.strings = new HashMap<>();
+    }
+
+    /**
+     * This method returns the shared string that is equal to the string. If there is no such string yet, the string
+     * itself is added and becomes the shared string.
+     *
+     * @param string - the string
+     * @return the shared string
+     */
+    public String intern(String string) {
+        String shared = strings.get(string);
+
+        if(shared == null) {
+            strings.put(string, string);
+            shared = string;
+        }
+
+        return shared;
+    }
+
+    /**
+     * This method returns the number of distinct strings in the pool.
+     *
+     * @return number of strings
+     */
+    public int size() {
+        return strings.size();
+    }
+}